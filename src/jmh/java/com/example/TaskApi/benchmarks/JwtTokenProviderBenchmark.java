@@ -0,0 +1,102 @@
+package com.example.TaskApi.benchmarks;
+
+import com.example.TaskApi.security.JwtTokenProvider;
+import com.example.TaskApi.security.UserPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification as done on login and on every authenticated request.
+ * {@code cached} runs against the verified-token cache (the steady state for a repeat bearer token);
+ * {@code uncached} uses a provider whose cache holds nothing and cycles through distinct tokens, so every
+ * call pays a full HS512 verification (a size-0 cache evicts asynchronously, so one token would still hit).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    static final String SECRET =
+            "bXktc2VjcmV0LWtleS1mb3ItandrLXNwcmluZy1ib290LWFzc2lnbm1lbnQtYXV0aG9yaXphdGlvbg==";
+
+    private JwtTokenProvider cached;
+    private JwtTokenProvider uncached;
+    private Authentication authentication;
+    private String token;
+    private String[] distinctTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cached = provider(10_000);
+        uncached = provider(0);
+        UserPrincipal principal = new UserPrincipal(1L, "bench@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = cached.generateToken(authentication);
+        distinctTokens = new String[1024];
+        for (int i = 0; i < distinctTokens.length; i++) {
+            UserPrincipal other = new UserPrincipal((long) i, "bench" + i + "@example.com", null,
+                    principal.getAuthorities());
+            distinctTokens[i] = uncached.generateToken(
+                    new UsernamePasswordAuthenticationToken(other, null, other.getAuthorities()));
+        }
+    }
+
+    private String nextDistinctToken() {
+        next = (next + 1) & (distinctTokens.length - 1);
+        return distinctTokens[next];
+    }
+
+    static JwtTokenProvider provider(long cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "tokenCacheMaxSize", cacheSize);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken_cached() {
+        return cached.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateToken_uncached() {
+        return uncached.validateToken(nextDistinctToken());
+    }
+
+    @Benchmark
+    public String getUsernameFromJWT_cached() {
+        return cached.getUsernameFromJWT(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromJWT_uncached() {
+        return uncached.getUsernameFromJWT(nextDistinctToken());
+    }
+}
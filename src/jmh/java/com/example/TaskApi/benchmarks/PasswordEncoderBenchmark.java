@@ -0,0 +1,52 @@
+package com.example.TaskApi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of register ({@code encode}) and login ({@code matches}) per BCrypt strength; each step doubles the work.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "password123";
+
+    @Param({"4", "8", "10", "12"})
+    public int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+}
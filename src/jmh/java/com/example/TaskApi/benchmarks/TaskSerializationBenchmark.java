@@ -0,0 +1,73 @@
+package com.example.TaskApi.benchmarks;
+
+import com.example.TaskApi.dto.TaskResponse;
+import com.example.TaskApi.model.Task;
+import com.example.TaskApi.model.TaskStatus;
+import com.example.TaskApi.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping and JSON encoding of the {@code GET /tasks} body at different list sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private List<Task> tasks;
+    private List<TaskResponse> responses;
+    private ObjectWriter listWriter;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder().id(1L).email("bench@example.com").build();
+        tasks = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            tasks.add(Task.builder()
+                    .id(i)
+                    .title("Task " + i)
+                    .description("Description for task number " + i + " with a bit of realistic text")
+                    .status(TaskStatus.values()[(int) (i % TaskStatus.values().length)])
+                    .user(user)
+                    .build());
+        }
+        responses = tasks.stream().map(TaskResponse::new).toList();
+        listWriter = new ObjectMapper().writerFor(
+                new ObjectMapper().getTypeFactory().constructCollectionType(List.class, TaskResponse.class));
+    }
+
+    @Benchmark
+    public void mapToResponse(Blackhole blackhole) {
+        for (Task task : tasks) {
+            blackhole.consume(new TaskResponse(task));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return listWriter.writeValueAsBytes(responses);
+    }
+}
@@ -2,12 +2,19 @@ package com.example.TaskApi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class TaskApiApplication {
 
+	// Roughly ten steps per bean; the context has well under a thousand beans.
+	private static final int STARTUP_STEP_CAPACITY = 10_000;
+
 	public static void main(String[] args) {
-		SpringApplication.run(TaskApiApplication.class, args);
+		SpringApplication application = new SpringApplication(TaskApiApplication.class);
+		// Keeps the startup steps for /actuator/startup and StartupTimelineReporter.
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+		application.run(args);
 	}
 
 }
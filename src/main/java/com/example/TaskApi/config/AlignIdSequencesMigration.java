@@ -0,0 +1,70 @@
+package com.example.TaskApi.config;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * V4: moves {@code users_seq} and {@code tasks_seq} past the ids already in use. V1 creates both sequences at 1,
+ * which collides with the rows of a database that was created by {@code ddl-auto=update} with identity ids.
+ * Written in Java because H2, used by the {@code h2} profile, has no {@code setval}.
+ */
+@Component
+public class AlignIdSequencesMigration implements JavaMigration {
+
+    // Must match allocationSize on the entities: Hibernate's pooled optimizer hands out the block below each value.
+    private static final long ALLOCATION_SIZE = 50;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("4");
+    }
+
+    @Override
+    public String getDescription() {
+        return "align id sequences";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        align(connection, "users", "users_seq");
+        align(connection, "tasks", "tasks_seq");
+    }
+
+    private static void align(Connection connection, String table, String sequence) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long maxId = queryLong(statement, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+            if (maxId == 0) {
+                return;
+            }
+            // Only ever moves forward, so blocks already handed to running instances stay unique.
+            if (queryLong(statement, "SELECT nextval('" + sequence + "')") <= maxId) {
+                statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + ALLOCATION_SIZE));
+            }
+        }
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
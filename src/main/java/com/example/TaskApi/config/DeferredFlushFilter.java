@@ -0,0 +1,97 @@
+package com.example.TaskApi.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Ignores explicit flushes while a request is handled synchronously. Spring's message converters flush after
+ * writing a body, which commits it as chunked. Without the flush, Tomcat sets {@code Content-Length} on any body
+ * that fits its response buffer, and only then can {@code server.compression.min-response-size} skip small bodies.
+ * Larger bodies still stream once the buffer fills. Async responses (SSE, {@code StreamingResponseBody}) keep their
+ * flushes.
+ */
+public class DeferredFlushFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, new DeferredFlushResponse(request, response));
+    }
+
+    private static final class DeferredFlushResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+        private ServletOutputStream outputStream;
+
+        DeferredFlushResponse(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new DeferredFlushOutputStream(super.getOutputStream(), request);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (request.isAsyncStarted()) {
+                super.flushBuffer();
+            }
+        }
+    }
+
+    private static final class DeferredFlushOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final HttpServletRequest request;
+
+        DeferredFlushOutputStream(ServletOutputStream delegate, HttpServletRequest request) {
+            this.delegate = delegate;
+            this.request = request;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (request.isAsyncStarted()) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
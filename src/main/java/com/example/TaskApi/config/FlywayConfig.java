@@ -0,0 +1,25 @@
+package com.example.TaskApi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lets startup skip the Flyway migration with {@code app.flyway.migrate-on-startup=false}, for instances
+ * started after a separate migration job, and for the CDS training run of the {@code aot} build. Unlike
+ * {@code spring.flyway.enabled}, the flag is read at runtime, so it still works when AOT has fixed the bean
+ * graph at build time.
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${app.flyway.migrate-on-startup:true}") boolean migrateOnStartup) {
+        return flyway -> {
+            if (migrateOnStartup) {
+                flyway.migrate();
+            }
+        };
+    }
+}
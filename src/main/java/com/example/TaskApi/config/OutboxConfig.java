@@ -0,0 +1,17 @@
+package com.example.TaskApi.config;
+
+import com.example.TaskApi.services.LoggingOutboxEventSink;
+import com.example.TaskApi.services.OutboxEventSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxEventSink.class)
+    public OutboxEventSink outboxEventSink() {
+        return new LoggingOutboxEventSink();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.TaskApi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootVersion;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Summarizes the startup timeline once the application accepts traffic, so after runners, warm-up and
+ * ready listeners. It logs the slowest bean creations and, if {@code app.startup.timeline-file} is set, writes
+ * the whole timeline there as JSON, in the same shape as {@code GET /actuator/startup}. Does nothing unless
+ * the application was started with a {@link BufferingApplicationStartup} (see {@code TaskApiApplication}).
+ */
+@Component
+public class StartupTimelineReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimelineReporter.class);
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.startup.timeline-file:}")
+    private String timelineFile;
+
+    @Value("${app.startup.slowest-beans:10}")
+    private int slowestBeans;
+
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC
+                || !(context.getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        // Read without draining, so /actuator/startup still returns the full timeline.
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        logSlowestBeans(timeline);
+        if (!timelineFile.isBlank()) {
+            writeTimeline(timeline, Path.of(timelineFile));
+        }
+    }
+
+    private void logSlowestBeans(StartupTimeline timeline) {
+        String slowest = timeline.getEvents().stream()
+                .filter(event -> "spring.beans.instantiate".equals(event.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(slowestBeans)
+                .map(event -> tag(event.getStartupStep(), "beanName") + "=" + event.getDuration().toMillis() + "ms")
+                .collect(Collectors.joining(", "));
+        logger.info("Startup recorded {} steps; slowest beans (including their dependencies): {}",
+                timeline.getEvents().size(), slowest);
+    }
+
+    private void writeTimeline(StartupTimeline timeline, Path file) {
+        Map<String, Object> dump = new LinkedHashMap<>();
+        dump.put("springBootVersion", SpringBootVersion.getVersion());
+        dump.put("timeline", timeline);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), dump);
+            logger.info("Startup timeline written to {}", file.toAbsolutePath());
+        } catch (IOException ex) {
+            logger.warn("Could not write the startup timeline to {}", file, ex);
+        }
+    }
+
+    private static String tag(StartupStep step, String key) {
+        return StreamSupport.stream(step.getTags().spliterator(), false)
+                .filter(tag -> key.equals(tag.getKey()))
+                .map(StartupStep.Tag::getValue)
+                .findFirst()
+                .orElse("?");
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.TaskApi.config;
+
+import com.example.TaskApi.repository.TaskRepository;
+import com.example.TaskApi.repository.UserRepository;
+import com.example.TaskApi.security.JwtTokenProvider;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Optional warm-up before readiness ({@code app.startup.warm-up}, set by the {@code lazy} profile): creates the
+ * controllers, opens the pool's idle connections, runs the hot queries and checks a JWT, each as a {@link StartupStep}.
+ */
+@Component
+public class StartupWarmUp implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmUp.class);
+
+    // No user or task has this id: the queries run end to end and return nothing.
+    private static final long NO_SUCH_ID = -1L;
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private ApplicationStartup applicationStartup;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Value("${app.startup.warm-up:false}")
+    private boolean enabled;
+
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || !done.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.nanoTime();
+        step("taskapi.warmup.beans", this::createControllers);
+        step("taskapi.warmup.datasource", this::openIdleConnections);
+        step("taskapi.warmup.repositories", this::runHotQueries);
+        step("taskapi.warmup.jwt", this::signAndVerifyToken);
+        logger.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void step(String name, WarmUpTask task) {
+        StartupStep step = applicationStartup.start(name);
+        try {
+            task.run(step);
+        } catch (Exception ex) {
+            // Best effort: a failed warm-up only makes the first requests slower.
+            step.tag("failed", ex.getClass().getSimpleName());
+            logger.warn("Warm-up step {} failed", name, ex);
+        } finally {
+            step.end();
+        }
+    }
+
+    private void createControllers(StartupStep step) {
+        step.tag("controllers", String.valueOf(context.getBeansWithAnnotation(RestController.class).size()));
+    }
+
+    private void openIdleConnections(StartupStep step) throws SQLException {
+        int count = dataSource instanceof HikariDataSource hikari ? Math.max(1, hikari.getMinimumIdle()) : 1;
+        // Held together, so the pool has to open a physical connection for each one.
+        List<Connection> connections = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                connections.add(dataSource.getConnection());
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+        step.tag("connections", String.valueOf(count));
+    }
+
+    private void runHotQueries(StartupStep step) {
+        userRepository.findByEmail("warm-up@invalid");
+        userRepository.findTaskListVersionById(NO_SUCH_ID);
+        taskRepository.findResponsesByUserId(NO_SUCH_ID);
+        taskRepository.findResponsePage(NO_SUCH_ID, 0L, Limit.of(1));
+        taskRepository.countByStatusForUser(NO_SUCH_ID);
+    }
+
+    private void signAndVerifyToken(StartupStep step) {
+        // No user id claim, so this token could never authenticate as a real principal.
+        String token = tokenProvider.generateToken(new UsernamePasswordAuthenticationToken("warm-up", null, List.of()));
+        tokenProvider.verifyToken(token);
+    }
+
+    @FunctionalInterface
+    private interface WarmUpTask {
+        void run(StartupStep step) throws Exception;
+    }
+}
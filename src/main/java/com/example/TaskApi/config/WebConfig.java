@@ -0,0 +1,65 @@
+package com.example.TaskApi.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Smile and CBOR responses next to the default JSON, with mappers built from Boot's
+ * {@link Jackson2ObjectMapperBuilder} so they share the {@code spring.jackson.*} settings.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // Not in a native image, which cannot define classes. Checked at runtime: AOT would evaluate a condition at build time.
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer blackbirdCustomizer() {
+        return builder -> {
+            if (!NativeDetector.inNativeImage()) {
+                builder.postConfigurer(objectMapper -> objectMapper.registerModule(new BlackbirdModule()));
+            }
+        };
+    }
+
+    // Converter beans replace the classpath-detected Smile/CBOR defaults, which do not use Boot's builder.
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    // Registered with the servlet container as a Filter bean, ahead of the DispatcherServlet.
+    @Bean
+    public DeferredFlushFilter deferredFlushFilter() {
+        return new DeferredFlushFilter();
+    }
+
+    // The representation depends on Accept, so shared caches must key on it (ETags are the same for all of them).
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        });
+    }
+}
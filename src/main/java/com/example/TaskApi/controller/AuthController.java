@@ -7,6 +7,7 @@ import com.example.TaskApi.dto.RegisterRequest;
 import com.example.TaskApi.services.AuthenticationService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -22,7 +23,7 @@ public class AuthController {
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@Valid @RequestBody RegisterRequest registerRequest) {
         authenticationService.register(registerRequest);
-        return ResponseEntity.ok(new ApiResponse("User registered successfully", true));
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponse("User registered successfully!", true));
     }
 
     @PostMapping("/login")
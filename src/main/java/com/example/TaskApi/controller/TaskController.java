@@ -1,17 +1,29 @@
 package com.example.TaskApi.controller;
 
+import com.example.TaskApi.dto.TaskBatchCreateRequest;
+import com.example.TaskApi.dto.TaskBatchDeleteRequest;
+import com.example.TaskApi.dto.TaskBatchStatusUpdateRequest;
+import com.example.TaskApi.dto.TaskPage;
 import com.example.TaskApi.dto.TaskRequest;
 import com.example.TaskApi.dto.TaskResponse;
 import com.example.TaskApi.dto.TaskStatusUpdateRequest;
-import com.example.TaskApi.model.Task;
+import com.example.TaskApi.dto.TaskSummaryResponse;
+import com.example.TaskApi.model.TaskStatus;
+import com.example.TaskApi.security.UserPrincipal;
+import com.example.TaskApi.services.TaskChangeFeed;
 import com.example.TaskApi.services.TaskService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
@@ -20,36 +32,119 @@ import java.util.List;
 @RequestMapping("/tasks")
 public class TaskController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskChangeFeed taskChangeFeed;
+
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskRequest taskRequest,
-                                           @AuthenticationPrincipal UserDetails userDetails) {
-        TaskResponse createdTask = taskService.createTask(taskRequest, userDetails.getUsername());
+                                           @AuthenticationPrincipal UserPrincipal principal) {
+        TaskResponse createdTask = taskService.createTask(taskRequest, principal);
         return ResponseEntity.created(URI.create("/tasks/" + createdTask.getId())).body(createdTask);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskResponse>> createTasks(@Valid @RequestBody TaskBatchCreateRequest batchRequest,
+                                                          @AuthenticationPrincipal UserPrincipal principal) {
+        List<TaskResponse> createdTasks = taskService.createTasks(batchRequest.getTasks(), principal);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdTasks);
+    }
+
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getTasks(@AuthenticationPrincipal UserDetails userDetails) {
-        List<TaskResponse> tasks = taskService.getTasksForUser(userDetails.getUsername());
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<TaskResponse>> getTasks(@RequestParam(required = false) TaskStatus status,
+                                                       @RequestParam(required = false) String after,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       @AuthenticationPrincipal UserPrincipal principal,
+                                                       WebRequest webRequest) {
+        long version = taskService.getTaskListVersion(principal);
+        if (webRequest.checkNotModified(taskListETag(principal, version))) {
+            return null;
+        }
+
+        if (after == null && limit == null) {
+            List<TaskResponse> tasks = status == null
+                    ? taskService.getTasksForUser(principal, version)
+                    : taskService.getTasksForUser(principal, status);
+            return ResponseEntity.ok(tasks);
+        }
+
+        TaskPage page = taskService.getTaskPageForUser(principal, status, after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", page.getNextCursor())
+                    .toUriString();
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor())
+                    .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.getItems());
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                        @AuthenticationPrincipal UserPrincipal principal) {
+        return taskChangeFeed.subscribe(principal.getId(), lastEventId);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskResponse>> searchTasks(@RequestParam String q,
+                                                          @RequestParam(required = false) Integer limit,
+                                                          @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskService.searchTasksForUser(principal, q, limit));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<TaskSummaryResponse> getTaskSummary(@AuthenticationPrincipal UserPrincipal principal,
+                                                              WebRequest webRequest) {
+        if (webRequest.checkNotModified(taskListETag(principal, taskService.getTaskListVersion(principal)))) {
+            return null;
+        }
+        return ResponseEntity.ok(taskService.getTaskSummaryForUser(principal));
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@AuthenticationPrincipal UserPrincipal principal) {
+        StreamingResponseBody body = out -> taskService.exportTasksForUser(principal, out);
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> updateTaskStatus(@PathVariable Long id,
                                                  @Valid @RequestBody TaskStatusUpdateRequest statusRequest,
-                                                 @AuthenticationPrincipal UserDetails userDetails) {
-        TaskResponse updatedTask = taskService.updateTaskStatus(id, statusRequest.getStatus(), userDetails.getUsername());
+                                                 @AuthenticationPrincipal UserPrincipal principal) {
+        TaskResponse updatedTask = taskService.updateTaskStatus(id, statusRequest.getStatus(), principal);
         return ResponseEntity.ok(updatedTask);
     }
 
+    @PatchMapping("/batch/status")
+    public ResponseEntity<List<TaskResponse>> updateTaskStatuses(@Valid @RequestBody TaskBatchStatusUpdateRequest batchRequest,
+                                                                 @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskService.updateTaskStatuses(batchRequest.getUpdates(), principal));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<Void> deleteTasks(@Valid @RequestBody TaskBatchDeleteRequest batchRequest,
+                                            @AuthenticationPrincipal UserPrincipal principal) {
+        taskService.deleteTasks(batchRequest.getIds(), principal);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id,
-                                           @AuthenticationPrincipal UserDetails userDetails) {
-        taskService.deleteTask(id, userDetails.getUsername());
+                                           @AuthenticationPrincipal UserPrincipal principal) {
+        taskService.deleteTask(id, principal);
         return ResponseEntity.noContent().build();
     }
-}
-
 
+    // Buffered write-behind statuses have not bumped the version yet, so they add a suffix.
+    private String taskListETag(UserPrincipal principal, long version) {
+        long pending = taskService.getPendingStatusGeneration(principal);
+        String tag = pending == 0 ? principal.getId() + "-" + version : principal.getId() + "-" + version + "." + pending;
+        return "W/\"" + tag + "\"";
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.TaskApi.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBatchCreateRequest {
+    public static final int MAX_ITEMS = 1000;
+
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " tasks per batch")
+    private List<@Valid TaskRequest> tasks;
+}
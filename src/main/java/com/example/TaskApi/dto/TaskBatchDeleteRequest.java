@@ -0,0 +1,16 @@
+package com.example.TaskApi.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBatchDeleteRequest {
+
+    @NotEmpty(message = "At least one task id is required")
+    @Size(max = TaskBatchCreateRequest.MAX_ITEMS, message = "At most " + TaskBatchCreateRequest.MAX_ITEMS + " ids per batch")
+    private List<@NotNull Long> ids;
+}
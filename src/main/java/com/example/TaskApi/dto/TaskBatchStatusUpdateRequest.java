@@ -0,0 +1,27 @@
+package com.example.TaskApi.dto;
+
+import com.example.TaskApi.model.TaskStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBatchStatusUpdateRequest {
+
+    @NotEmpty(message = "At least one update is required")
+    @Size(max = TaskBatchCreateRequest.MAX_ITEMS, message = "At most " + TaskBatchCreateRequest.MAX_ITEMS + " updates per batch")
+    private List<@Valid Item> updates;
+
+    @Data
+    public static class Item {
+        @NotNull(message = "Task id is required")
+        private Long id;
+
+        @NotNull(message = "Status is required")
+        private TaskStatus status;
+    }
+}
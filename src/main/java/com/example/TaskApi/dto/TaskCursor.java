@@ -0,0 +1,35 @@
+package com.example.TaskApi.dto;
+
+import com.example.TaskApi.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque pagination cursor handed out as {@code X-Next-Cursor} and accepted back as {@code ?after=}.
+ * It only wraps the last task id of a page, but clients must not rely on that.
+ */
+public final class TaskCursor {
+
+    private static final String PREFIX = "t:";
+
+    private TaskCursor() {
+    }
+
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException("Invalid pagination cursor");
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid pagination cursor");
+        }
+    }
+}
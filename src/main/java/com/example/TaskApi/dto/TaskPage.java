@@ -0,0 +1,13 @@
+package com.example.TaskApi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskPage {
+    private List<TaskResponse> items;
+    private String nextCursor;
+}
@@ -4,20 +4,19 @@ import com.example.TaskApi.model.Task;
 import com.example.TaskApi.model.TaskStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
-@Data
+// Immutable: TaskListCache hands the same instances to every request.
+@Value
 @Builder
-@NoArgsConstructor
 @AllArgsConstructor
 public class TaskResponse {
 
-    private Long id;
-    private String title;
-    private String description;
-    private TaskStatus status;
-    private Long userId;
+    Long id;
+    String title;
+    String description;
+    TaskStatus status;
+    Long userId;
 
     public TaskResponse(Task task) {
         this.id = task.getId();
@@ -0,0 +1,15 @@
+package com.example.TaskApi.dto;
+
+import com.example.TaskApi.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class TaskSummaryResponse {
+    private long total;
+    // Every status is present, with 0 when the user has no tasks in it.
+    private Map<TaskStatus, Long> counts;
+}
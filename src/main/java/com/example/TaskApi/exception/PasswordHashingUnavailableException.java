@@ -0,0 +1,18 @@
+package com.example.TaskApi.exception;
+
+import java.time.Duration;
+
+/** The password-hashing pool is saturated; the client should retry after {@link #getRetryAfter()}. */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingUnavailableException(Duration retryAfter) {
+        super("Too many concurrent sign-ins, please retry shortly");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
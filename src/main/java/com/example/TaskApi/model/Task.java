@@ -8,11 +8,17 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "tasks")
+// Indexes are created by the Flyway migrations; they are listed here to document the access paths.
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_tasks_user_id_status_id", columnList = "user_id, status, id")
+})
 public class Task {
 
+    // Pooled sequence instead of IDENTITY so Hibernate can assign ids up front and batch inserts.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
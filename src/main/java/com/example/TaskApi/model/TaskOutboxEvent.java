@@ -0,0 +1,37 @@
+package com.example.TaskApi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "task_outbox")
+public class TaskOutboxEvent {
+
+    // Not pooled: see V3__create_task_outbox.sql, id order is the per-user publish order.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_outbox_seq")
+    @SequenceGenerator(name = "task_outbox_seq", sequenceName = "task_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "event_type", nullable = false, length = 32)
+    private String eventType;
+
+    // TaskChangedEvent as JSON
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
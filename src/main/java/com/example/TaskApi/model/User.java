@@ -1,6 +1,8 @@
 package com.example.TaskApi.model;
 
+import com.example.TaskApi.security.UserCacheEvictionListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,9 +14,11 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheEvictionListener.class)
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -30,6 +34,12 @@ public class User {
     @Column(nullable = false)
     private Role role;
 
+    // Bumped by every task write of this user; backs the ETag of GET /tasks.
+    // Written only by UserRepository.incrementTaskListVersion: saving a loaded user must not put back an old value.
+    @ColumnDefault("0")
+    @Column(name = "task_list_version", nullable = false, insertable = false, updatable = false)
+    private long taskListVersion;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private java.util.List<Task> tasks;
 
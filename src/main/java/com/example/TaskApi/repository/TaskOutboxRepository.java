@@ -0,0 +1,19 @@
+package com.example.TaskApi.repository;
+
+import com.example.TaskApi.model.TaskOutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface TaskOutboxRepository extends JpaRepository<TaskOutboxEvent, Long> {
+
+    // Oldest first and row-locked (no SKIP LOCKED): a second relay waits for the first instead of
+    // publishing later events of the same user ahead of earlier ones.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from TaskOutboxEvent e order by e.id")
+    List<TaskOutboxEvent> findOldestForUpdate(Limit limit);
+}
@@ -1,10 +1,97 @@
 package com.example.TaskApi.repository;
 
+import com.example.TaskApi.dto.TaskResponse;
 import com.example.TaskApi.model.Task;
+import com.example.TaskApi.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByUserId(Long userId);
+    // Read paths select straight into TaskResponse: no managed entities, no dirty-checking snapshots,
+    // and userId comes from the user_id column without touching the User association.
+    String TASK_RESPONSE = "select new com.example.TaskApi.dto.TaskResponse(t.id, t.title, t.description, t.status, t.user.id) from Task t ";
+    String TASK_TEXT = "select t.id as id, t.user.id as userId, t.user.taskListVersion as taskListVersion, "
+            + "t.title as title, t.description as description from Task t ";
+
+    @Query(TASK_RESPONSE + "where t.user.id = :userId order by t.id")
+    List<TaskResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    @Query(TASK_RESPONSE + "where t.user.id = :userId and t.status = :status order by t.id")
+    List<TaskResponse> findResponsesByUserIdAndStatus(@Param("userId") Long userId, @Param("status") TaskStatus status);
+
+    // Keyset page over (user_id, id): seeks past the last id seen instead of using OFFSET.
+    @Query(TASK_RESPONSE + "where t.user.id = :userId and t.id > :afterId order by t.id")
+    List<TaskResponse> findResponsePage(@Param("userId") Long userId, @Param("afterId") Long afterId, Limit limit);
+
+    // Same keyset page within one status, served by the (user_id, status, id) index.
+    @Query(TASK_RESPONSE + "where t.user.id = :userId and t.status = :status and t.id > :afterId order by t.id")
+    List<TaskResponse> findResponsePageByStatus(@Param("userId") Long userId, @Param("status") TaskStatus status,
+                                                @Param("afterId") Long afterId, Limit limit);
+
+    @Query(TASK_RESPONSE + "where t.user.id = :userId and t.id in :ids")
+    List<TaskResponse> findResponsesByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // Server-side cursor: rows arrive in fetch-size chunks. Must be consumed inside a transaction and closed.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TASK_RESPONSE + "where t.user.id = :userId order by t.id")
+    Stream<TaskResponse> streamResponsesByUserId(@Param("userId") Long userId);
+
+    // Text columns of every task, read without entities to rebuild the search index at startup.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TASK_TEXT)
+    Stream<TaskText> streamAllText();
+
+    @Query(TASK_TEXT + "where t.user.id = :userId")
+    List<TaskText> findTextByUserId(@Param("userId") Long userId);
+
+    // One row per status the user has tasks in; statuses without tasks are absent.
+    @Query("select t.status as status, count(t) as count from Task t where t.user.id = :userId group by t.status")
+    List<StatusCount> countByStatusForUser(@Param("userId") Long userId);
+
+    // Ownership-checked writes: 0 rows means the task is missing or belongs to someone else.
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.status = :status where t.id = :id and t.user.id = :userId")
+    int updateStatusByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId, @Param("status") TaskStatus status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Task t where t.id = :id and t.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    long countByIdIn(Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.status = :status where t.id in :ids and t.user.id = :userId")
+    int updateStatusByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId, @Param("status") TaskStatus status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Task t where t.id in :ids and t.user.id = :userId")
+    int deleteByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    interface TaskText {
+        Long getId();
+
+        Long getUserId();
+
+        Long getTaskListVersion();
+
+        String getTitle();
+
+        String getDescription();
+    }
+
+    interface StatusCount {
+        TaskStatus getStatus();
+
+        long getCount();
+    }
 
 }
@@ -2,10 +2,20 @@ package com.example.TaskApi.repository;
 
 import com.example.TaskApi.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
+
+    @Query("select u.taskListVersion from User u where u.id = :id")
+    Optional<Long> findTaskListVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.taskListVersion = u.taskListVersion + 1 where u.id = :id")
+    int incrementTaskListVersion(@Param("id") Long id);
 }
@@ -1,5 +1,12 @@
 package com.example.TaskApi.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,12 +15,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -21,22 +32,62 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtTokenProvider tokenProvider;
     @Autowired
     private UserDetailsImpl userDetailsService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    enum Outcome { NO_TOKEN, VALID, EXPIRED, BAD_SIGNATURE, INVALID, USER_NOT_FOUND, ERROR }
+
+    private final Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+
+    @PostConstruct
+    void registerTimers() {
+        for (Outcome outcome : Outcome.values()) {
+            timers.put(outcome, Timer.builder("taskapi.auth.filter")
+                    .description("JWT authentication time per request, by outcome")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        Outcome outcome = authenticate(request);
+        timers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        filterChain.doFilter(request, response);
+    }
+
+    private Outcome authenticate(HttpServletRequest request) {
         try {
             String jwt = getJwtFromRequest(request);
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getUsernameFromJWT(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (!StringUtils.hasText(jwt)) {
+                return Outcome.NO_TOKEN;
             }
+            Claims claims = tokenProvider.verifyToken(jwt);
+            UserDetails userDetails = tokenProvider.getPrincipal(claims);
+            if (userDetails == null) {
+                userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            }
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            return Outcome.VALID;
+        } catch (ExpiredJwtException ex) {
+            logger.error("Expired JWT token");
+            return Outcome.EXPIRED;
+        } catch (SignatureException ex) {
+            logger.error("Invalid JWT signature");
+            return Outcome.BAD_SIGNATURE;
+        } catch (JwtException | IllegalArgumentException ex) {
+            logger.error("Invalid JWT token");
+            return Outcome.INVALID;
+        } catch (UsernameNotFoundException ex) {
+            logger.error("JWT subject no longer exists");
+            return Outcome.USER_NOT_FOUND;
         } catch (Exception e) {
             logger.error("Could not set user authentication in security context", e);
+            return Outcome.ERROR;
         }
-        filterChain.doFilter(request, response);
     }
 
     private String getJwtFromRequest(HttpServletRequest request) {
@@ -0,0 +1,41 @@
+package com.example.TaskApi.security;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Native-image hints for jjwt. {@code jjwt-api} creates its implementation classes (builders, parsers,
+ * algorithm registries) by name, and loads the Jackson serializer through {@code ServiceLoader}, so none of them
+ * are reachable for static analysis. Names are strings because {@code jjwt-impl} is runtime-only.
+ */
+class JwtRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<String> REFLECTIVE_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : REFLECTIVE_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+    }
+}
@@ -1,29 +1,59 @@
 package com.example.TaskApi.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
+@ImportRuntimeHints(JwtRuntimeHints.class)
 public class JwtTokenProvider {
 
     @Value("${app.jwt.secret}")
     private String jwtSecret;
     @Value("${app.jwt.expiration-in-ms}")
     private long jwtExpirationInMs;
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
-    }
+    @Value("${app.jwt.cache.max-size:10000}")
+    private long tokenCacheMaxSize;
+
+    // Derived once: the key and parser are immutable and thread-safe.
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    // Token -> claims for tokens whose signature already verified; entries expire with the token itself.
+    private Cache<String, Claims> verifiedTokens;
+
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
+
+    static final String ROLES_CLAIM = "roles";
+    static final String USER_ID_CLAIM = "uid";
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parser().setSigningKey(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
     public String generateToken(Authentication authentication) {
         String username = authentication.getName();
         Date now = new Date();
@@ -31,26 +61,58 @@ public class JwtTokenProvider {
         List<String> roles = authentication.getAuthorities().stream()
                 .map(authority -> authority.getAuthority())
                 .toList();
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(username)
-                .claim("roles", roles)
+                .claim(ROLES_CLAIM, roles);
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            builder.claim(USER_ID_CLAIM, principal.getId());
+        }
+        return builder
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
-    public String getUsernameFromJWT(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+
+    /**
+     * Builds the principal straight from verified claims. Returns {@code null} for tokens issued
+     * before the user id claim existed; callers then fall back to loading the user.
+     */
+    public UserPrincipal getPrincipal(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        if (userId == null) {
+            return null;
+        }
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        List<SimpleGrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new UserPrincipal(userId, claims.getSubject(), null, authorities);
     }
-    public boolean validateToken(String authToken) {
+
+    /**
+     * Verifies signature and expiry and returns the token's claims, throwing a {@link JwtException}
+     * (or {@link IllegalArgumentException} for blank input) when the token is not valid.
+     * A token that verified before is answered from the cache without another HMAC check.
+     */
+    public Claims verifyToken(String token) {
+        Claims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Same as {@link #verifyToken(String)} but logs the failure and returns {@code null} for invalid tokens.
+     */
+    public Claims getClaimsIfValid(String authToken) {
         try {
-            Jwts.parser().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
-            return true;
+            return verifyToken(authToken);
         } catch (SignatureException ex) {
             logger.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -62,6 +124,40 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty.");
         }
-        return false;
+        return null;
+    }
+
+    public String getUsernameFromJWT(String token) {
+        return verifyToken(token).getSubject();
+    }
+
+    public boolean validateToken(String authToken) {
+        return getClaimsIfValid(authToken) != null;
+    }
+
+    public CacheStats getTokenCacheStats() {
+        return verifiedTokens.stats();
+    }
+
+    Cache<String, Claims> verifiedTokenCache() {
+        return verifiedTokens;
+    }
+
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,112 @@
+package com.example.TaskApi.security;
+
+import com.example.TaskApi.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt on a fixed pool of hashing threads with a bounded queue.
+ * <p>
+ * Callers still wait for their hash, but at most {@code poolSize + queueCapacity} request threads can be
+ * waiting at once. Beyond that, encode/matches fail fast with {@link PasswordHashingUnavailableException}
+ * (503). A login burst therefore cannot tie up every Tomcat thread and starve task traffic.
+ * {@link #upgradeEncoding} reports every hash whose cost differs from the configured strength, in either
+ * direction, so changing {@code app.security.bcrypt.strength} rehashes passwords as users log in.
+ */
+public class PooledBCryptPasswordEncoder implements PasswordEncoder, MeterBinder, DisposableBean {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder delegate;
+    private final int strength;
+    private final Duration retryAfter;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PooledBCryptPasswordEncoder(int strength, int poolSize, int queueCapacity, Duration retryAfter) {
+        this(new BCryptPasswordEncoder(strength), strength, poolSize, queueCapacity, retryAfter);
+    }
+
+    PooledBCryptPasswordEncoder(PasswordEncoder delegate, int strength, int poolSize, int queueCapacity, Duration retryAfter) {
+        this.delegate = delegate;
+        this.strength = strength;
+        this.retryAfter = retryAfter;
+        // Platform threads on purpose: hashing is pure CPU, so the pool size is the concurrency limit.
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, "password.hashing", List.of()).bindTo(registry);
+        FunctionCounter.builder("password.hashing.rejected", rejected, AtomicLong::get)
+                .description("Hash requests refused because the hashing queue was full")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> hashing) {
+        Future<T> result;
+        try {
+            result = executor.submit(hashing);
+        } catch (RejectedExecutionException ex) {
+            rejected.incrementAndGet();
+            throw new PasswordHashingUnavailableException(retryAfter);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException(retryAfter);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+}
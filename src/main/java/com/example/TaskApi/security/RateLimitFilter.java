@@ -0,0 +1,165 @@
+package com.example.TaskApi.security;
+
+import com.example.TaskApi.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket rate limiting after {@link JwtAuthenticationFilter}, keyed by user id, or by client IP for
+ * {@code /auth/**} and anonymous callers. Each bucket is one {@link AtomicLong} (GCRA), so a request costs one CAS.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final PathPattern AUTH_PATHS = PathPatternParser.defaultInstance.parse("/auth/**");
+
+    @Autowired
+    private RateLimitProperties properties;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<CompiledRule> rules = new ArrayList<>();
+    private Cache<BucketKey, AtomicLong> buckets;
+    // Bucket times are measured from here so they start at 0 instead of an arbitrary (possibly negative) nanoTime.
+    private final long origin = System.nanoTime();
+
+    private record CompiledRule(int index, String method, PathPattern path,
+                                long intervalNanos, long burstNanos, Counter rejected) {
+        boolean matches(String requestMethod, PathContainer requestPath) {
+            return (method == null || method.equalsIgnoreCase(requestMethod)) && path.matches(requestPath);
+        }
+    }
+
+    private record BucketKey(int rule, String client) {
+    }
+
+    @PostConstruct
+    void init() {
+        Duration longestPeriod = Duration.ZERO;
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            if (rule.getPath() == null || rule.getCapacity() < 1 || rule.getPeriod() == null || rule.getPeriod().isZero()) {
+                throw new IllegalStateException("Rate limit rule '" + rule.getName() + "' needs a path, capacity >= 1 and a period");
+            }
+            long intervalNanos = Math.max(1, rule.getPeriod().toNanos() / rule.getCapacity());
+            String name = rule.getName() != null ? rule.getName() : rule.getPath();
+            rules.add(new CompiledRule(rules.size(),
+                    rule.getMethod() == null || rule.getMethod().isBlank() ? null : rule.getMethod(),
+                    PathPatternParser.defaultInstance.parse(rule.getPath()),
+                    intervalNanos,
+                    intervalNanos * rule.getCapacity(),
+                    Counter.builder("taskapi.ratelimit.rejected")
+                            .description("Requests answered with 429, by rate limit rule")
+                            .tag("rule", name)
+                            .register(meterRegistry)));
+            if (rule.getPeriod().compareTo(longestPeriod) > 0) {
+                longestPeriod = rule.getPeriod();
+            }
+        }
+        // An evicted bucket comes back full, so never evict before an idle bucket would have refilled anyway.
+        Duration idle = properties.getIdleEviction().compareTo(longestPeriod) > 0 ? properties.getIdleEviction() : longestPeriod;
+        buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idle)
+                .maximumSize(properties.getMaxBuckets())
+                .build();
+        Gauge.builder("taskapi.ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Rate limit buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        CompiledRule rule = match(request.getMethod(), path);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AtomicLong bucket = buckets.get(new BucketKey(rule.index(), clientKey(request, path)), key -> new AtomicLong());
+        long waitNanos = tryAcquire(bucket, rule.intervalNanos(), rule.burstNanos(), System.nanoTime() - origin);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rule.rejected().increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests, please slow down"));
+    }
+
+    /**
+     * Takes one token from the bucket. {@code bucket} holds the time at which it will be full again; a request
+     * pushes that time one interval further, and is refused if that would exceed the burst window.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until a token is available
+     */
+    static long tryAcquire(AtomicLong bucket, long intervalNanos, long burstNanos, long now) {
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + intervalNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private CompiledRule match(String method, PathContainer path) {
+        for (CompiledRule rule : rules) {
+            if (rule.matches(method, path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request, PathContainer path) {
+        if (!AUTH_PATHS.matches(path)) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+                return "u:" + principal.getId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.TaskApi.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-endpoint token-bucket limits ({@code app.rate-limit.*}). The first rule whose method and path match a
+ * request applies. Requests that match no rule are not limited.
+ */
+@Data
+@ConfigurationProperties("app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Buckets untouched for this long are dropped (never before they would have refilled anyway). */
+    private Duration idleEviction = Duration.ofMinutes(10);
+
+    private long maxBuckets = 100_000;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        /** Tag value for the rejection metric. */
+        private String name;
+        /** HTTP method to match; any method when empty. */
+        private String method;
+        /** Spring path pattern, e.g. {@code /tasks/batch/**}. */
+        private String path;
+        /** Burst size: requests allowed back to back from a full bucket. */
+        private long capacity;
+        /** Time to refill an empty bucket, so the sustained rate is {@code capacity / period}. */
+        private Duration period;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.TaskApi.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes size, hit/miss and eviction metrics of the verified-token and principal caches.
+ */
+@Component
+public class SecurityCacheMetrics implements MeterBinder {
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+    @Autowired
+    private UserDetailsImpl userDetailsService;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, tokenProvider.verifiedTokenCache(), "jwt.verified-tokens");
+        CaffeineCacheMetrics.monitor(registry, userDetailsService.principalCache(), "security.principals");
+    }
+}
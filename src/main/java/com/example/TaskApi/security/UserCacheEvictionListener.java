@@ -0,0 +1,27 @@
+package com.example.TaskApi.security;
+
+import com.example.TaskApi.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that keeps the principal cache in {@link UserDetailsImpl} in step with
+ * password and role changes made through the {@link User} entity.
+ */
+@Component
+public class UserCacheEvictionListener {
+
+    // Lazy: the listener is created while the EntityManagerFactory that UserDetailsImpl depends on is built.
+    @Autowired
+    @Lazy
+    private UserDetailsImpl userDetailsService;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        userDetailsService.evict(user.getEmail());
+    }
+}
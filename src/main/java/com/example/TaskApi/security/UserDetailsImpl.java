@@ -2,30 +2,94 @@ package com.example.TaskApi.security;
 
 import com.example.TaskApi.model.User;
 import com.example.TaskApi.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Collections;
 
 @Service
-public class UserDetailsImpl implements UserDetailsService {
+public class UserDetailsImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Value("${app.security.principal-cache.max-size:10000}")
+    private long principalCacheMaxSize;
+
+    @Value("${app.security.principal-cache.ttl:5m}")
+    private Duration principalCacheTtl;
+
+    private Cache<String, CachedPrincipal> principals;
+
+    @PostConstruct
+    void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(principalCacheMaxSize)
+                .expireAfterWrite(principalCacheTtl)
+                .recordStats()
+                .build();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // Misses are not cached: the loader's UsernameNotFoundException propagates and nothing is stored.
+        CachedPrincipal principal = principals.get(email, this::loadPrincipal);
+        return principal.toUserDetails();
+    }
+
+    /**
+     * Stores a password rehashed at the configured BCrypt strength. The authentication manager calls this after
+     * a successful login whose stored hash used a different strength.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        evict(user.getEmail());
+        return new CachedPrincipal(user.getId(), user.getEmail(), newPassword, user.getRole().name()).toUserDetails();
+    }
+
+    /**
+     * Drops the cached principal for {@code email}. Must be called whenever a user's password or role changes.
+     */
+    public void evict(String email) {
+        principals.invalidate(email);
+    }
+
+    Cache<String, ?> principalCache() {
+        return principals;
+    }
+
+    private CachedPrincipal loadPrincipal(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                Collections.singleton(new SimpleGrantedAuthority(user.getRole().name()))
-        );
+        return new CachedPrincipal(user.getId(), user.getEmail(), user.getPassword(), user.getRole().name());
+    }
+
+    /**
+     * Immutable snapshot of the fields a principal is built from. A fresh {@link UserDetails} is handed out
+     * on every call because the authentication manager erases credentials on the instance it receives.
+     */
+    private record CachedPrincipal(Long id, String email, String password, String role) {
+        UserDetails toUserDetails() {
+            return new UserPrincipal(
+                    id,
+                    email,
+                    password,
+                    Collections.singleton(new SimpleGrantedAuthority(role))
+            );
+        }
     }
 }
@@ -0,0 +1,38 @@
+package com.example.TaskApi.security;
+
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/**
+ * Authenticated user as seen by controllers. Built from verified JWT claims on every request,
+ * so it carries the numeric user id and task endpoints never have to look the user up.
+ */
+@Getter
+public class UserPrincipal implements UserDetails, CredentialsContainer {
+
+    private final Long id;
+    private final String email;
+    private String password;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public UserPrincipal(Long id, String email, String password, Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.authorities = authorities;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+}
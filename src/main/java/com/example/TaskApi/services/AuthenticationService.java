@@ -7,6 +7,8 @@ import com.example.TaskApi.model.Role;
 import com.example.TaskApi.model.User;
 import com.example.TaskApi.repository.UserRepository;
 import com.example.TaskApi.security.JwtTokenProvider;
+import com.example.TaskApi.security.UserDetailsImpl;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,6 +17,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed(value = "taskapi.service.auth", histogram = true)
 public class AuthenticationService {
     @Autowired
     private UserRepository userRepository;
@@ -24,6 +27,8 @@ public class AuthenticationService {
     private AuthenticationManager authenticationManager;
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
+    @Autowired
+    private UserDetailsImpl userDetailsService;
 
     public User register(RegisterRequest registerRequest) {
         if (userRepository.existsByEmail(registerRequest.getEmail())) {
@@ -35,7 +40,9 @@ public class AuthenticationService {
                 .password(passwordEncoder.encode(registerRequest.getPassword()))
                 .role(Role.ROLE_USER)
                 .build();
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userDetailsService.evict(savedUser.getEmail());
+        return savedUser;
     }
 
     public String login(LoginRequest loginRequest) {
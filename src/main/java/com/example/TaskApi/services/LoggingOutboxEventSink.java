@@ -0,0 +1,25 @@
+package com.example.TaskApi.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Default {@link OutboxEventSink} for local use: logs each message at DEBUG and drops it.
+ */
+public class LoggingOutboxEventSink implements OutboxEventSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingOutboxEventSink.class);
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+        for (OutboxMessage message : messages) {
+            logger.debug("Outbox #{} user={} task={} {} {}", message.id(), message.userId(), message.taskId(),
+                    message.type(), message.payload());
+        }
+    }
+}
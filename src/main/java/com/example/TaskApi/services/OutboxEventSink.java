@@ -0,0 +1,12 @@
+package com.example.TaskApi.services;
+
+import java.util.List;
+
+/**
+ * Destination of the task outbox. Delivery is at-least-once: if {@link #publish} throws, the batch is
+ * offered again on the next relay run.
+ */
+public interface OutboxEventSink {
+
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
@@ -0,0 +1,13 @@
+package com.example.TaskApi.services;
+
+import java.time.Instant;
+
+/**
+ * A task change read back from the outbox, as handed to an {@link OutboxEventSink}.
+ *
+ * @param id      outbox id; increasing in commit order per user, usable for de-duplication downstream
+ * @param type    {@link TaskChangedEvent.Type} name
+ * @param payload the {@link TaskChangedEvent} as JSON
+ */
+public record OutboxMessage(Long id, Long userId, Long taskId, String type, String payload, Instant createdAt) {
+}
@@ -0,0 +1,291 @@
+package com.example.TaskApi.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans committed {@link TaskChangedEvent}s out to the user's open {@code GET /tasks/stream} sessions.
+ * Event ids are {@code <channel epoch>-<seq>}, and a ring of recent events per user lets a client resume
+ * from {@code Last-Event-ID}. Channels are per instance: a session sees only writes made through it.
+ */
+@Component
+@Lazy(false)
+@RegisterReflectionForBinding({TaskChangedEvent.class, TaskChangeFeed.ResyncNotice.class})
+public class TaskChangeFeed {
+
+    static final String RESYNC = "resync";
+
+    @Value("${app.tasks.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${app.tasks.stream.replay-size:256}")
+    private int replaySize;
+
+    @Value("${app.tasks.stream.replay-retention:5m}")
+    private Duration replayRetention;
+
+    @Value("${app.tasks.stream.timeout:30m}")
+    private Duration timeout;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final String instanceEpoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong channelCounter = new AtomicLong();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private Counter resyncs;
+    private volatile boolean closing;
+
+    private record FeedEvent(String id, String name, Object data) {
+        static final FeedEvent HEARTBEAT = new FeedEvent(null, null, null);
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("keep-alive");
+            }
+            return SseEmitter.event().id(id).name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    record ResyncNotice(String reason) {
+    }
+
+    @PostConstruct
+    void registerMeters() {
+        Gauge.builder("taskapi.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open GET /tasks/stream sessions")
+                .register(meterRegistry);
+        resyncs = Counter.builder("taskapi.stream.resyncs")
+                .description("Resync events sent because a subscriber fell behind or could not be replayed")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        Subscriber subscriber = new Subscriber(newEmitter());
+        if (closing) {
+            subscriber.emitter.complete();
+            return subscriber.emitter;
+        }
+        while (true) {
+            Channel channel = channels.computeIfAbsent(userId, id -> new Channel());
+            channel.lock.lock();
+            try {
+                if (channel.removed) {
+                    continue;
+                }
+                channel.replayTo(subscriber, lastEventId);
+                channel.subscribers.add(subscriber);
+            } finally {
+                channel.lock.unlock();
+            }
+            subscriberCount.incrementAndGet();
+            subscriber.emitter.onCompletion(() -> channel.unsubscribe(subscriber));
+            subscriber.emitter.onTimeout(() -> channel.unsubscribe(subscriber));
+            subscriber.emitter.onError(error -> channel.unsubscribe(subscriber));
+            return subscriber.emitter;
+        }
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        Channel channel = channels.get(event.userId());
+        if (channel == null) {
+            return;
+        }
+        channel.lock.lock();
+        try {
+            channel.publish(event.type().name().toLowerCase().replace('_', '-'), event);
+        } finally {
+            channel.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.stream.heartbeat:30s}")
+    public void heartbeatAndSweep() {
+        long now = System.nanoTime();
+        channels.forEach((userId, channel) -> {
+            channel.lock.lock();
+            try {
+                if (channel.subscribers.isEmpty()) {
+                    if (now - channel.idleSince > replayRetention.toNanos()) {
+                        channel.removed = true;
+                        channels.remove(userId, channel);
+                    }
+                    return;
+                }
+                for (Subscriber subscriber : channel.subscribers) {
+                    if (subscriber.queue.isEmpty()) {
+                        subscriber.offer(FeedEvent.HEARTBEAT);
+                    }
+                }
+            } finally {
+                channel.lock.unlock();
+            }
+        });
+    }
+
+    // Runs before the web server's graceful shutdown, which would otherwise wait for every open stream to end.
+    @EventListener(ContextClosedEvent.class)
+    public void closeSessions() {
+        closing = true;
+        channels.values().forEach(channel -> {
+            channel.lock.lock();
+            try {
+                new ArrayList<>(channel.subscribers).forEach(subscriber -> subscriber.emitter.complete());
+            } finally {
+                channel.lock.unlock();
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdown();
+    }
+
+    private final class Channel {
+        final ReentrantLock lock = new ReentrantLock();
+        final String epoch = instanceEpoch + "." + Long.toString(channelCounter.incrementAndGet(), 36);
+        final ArrayDeque<FeedEvent> recent = new ArrayDeque<>();
+        final List<Subscriber> subscribers = new ArrayList<>();
+        long seq;
+        long idleSince = System.nanoTime();
+        boolean removed;
+
+        // Called with the lock held, so no event can slip in between the replay and the live stream.
+        void replayTo(Subscriber subscriber, String lastEventId) {
+            if (lastEventId == null || lastEventId.isBlank()) {
+                return;
+            }
+            long lastSeq = parseSeq(lastEventId);
+            long oldestSeq = seq - recent.size() + 1;
+            if (lastSeq < 0 || lastSeq > seq || lastSeq < oldestSeq - 1) {
+                subscriber.offer(resync(seq, "Cannot resume from event " + lastEventId));
+                return;
+            }
+            for (FeedEvent event : recent) {
+                if (parseSeq(event.id()) > lastSeq) {
+                    subscriber.offer(event);
+                }
+            }
+        }
+
+        void publish(String name, Object data) {
+            FeedEvent event = new FeedEvent(epoch + "-" + (++seq), name, data);
+            recent.addLast(event);
+            if (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+
+        void unsubscribe(Subscriber subscriber) {
+            lock.lock();
+            try {
+                if (subscribers.remove(subscriber)) {
+                    subscriberCount.decrementAndGet();
+                    if (subscribers.isEmpty()) {
+                        idleSince = System.nanoTime();
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        FeedEvent resync(long atSeq, String reason) {
+            resyncs.increment();
+            return new FeedEvent(epoch + "-" + atSeq, RESYNC, new ResyncNotice(reason));
+        }
+
+        // -1 when the id is malformed or belongs to another channel epoch.
+        long parseSeq(String eventId) {
+            int dash = eventId.lastIndexOf('-');
+            if (dash < 0 || !eventId.substring(0, dash).equals(epoch)) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(eventId.substring(dash + 1));
+            } catch (NumberFormatException ex) {
+                return -1;
+            }
+        }
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<FeedEvent> queue = new ArrayBlockingQueue<>(bufferSize);
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // Producers hold the channel lock, so offers to one subscriber never race each other.
+        void offer(FeedEvent event) {
+            if (!queue.offer(event)) {
+                queue.clear();
+                resyncs.increment();
+                queue.offer(new FeedEvent(event.id(), RESYNC, new ResyncNotice("Client fell behind")));
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        void drain() {
+            try {
+                FeedEvent event;
+                while ((event = queue.poll()) != null) {
+                    emitter.send(event.toSse());
+                }
+            } catch (Exception ex) {
+                // Broken connection or completed emitter; the completion/error callback unsubscribes.
+                emitter.completeWithError(ex);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event may have arrived after the last poll but before the flag was cleared.
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.TaskApi.services;
+
+import com.example.TaskApi.dto.TaskResponse;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Published by {@link TaskService} for every task write, inside the writing transaction. Listeners that act
+ * on committed state use {@code @TransactionalEventListener} (after commit by default).
+ *
+ * @param task        the task after the change; {@code null} for {@link Type#DELETED}
+ * @param listVersion the user's task-list version written by the same transaction
+ */
+public record TaskChangedEvent(Type type, @JsonIgnore Long userId, Long taskId, TaskResponse task,
+                               @JsonIgnore long listVersion) {
+
+    public enum Type { CREATED, STATUS_CHANGED, DELETED }
+
+    static TaskChangedEvent created(TaskResponse task, long listVersion) {
+        return new TaskChangedEvent(Type.CREATED, task.getUserId(), task.getId(), task, listVersion);
+    }
+
+    static TaskChangedEvent statusChanged(TaskResponse task, long listVersion) {
+        return new TaskChangedEvent(Type.STATUS_CHANGED, task.getUserId(), task.getId(), task, listVersion);
+    }
+
+    static TaskChangedEvent deleted(Long userId, Long taskId, long listVersion) {
+        return new TaskChangedEvent(Type.DELETED, userId, taskId, null, listVersion);
+    }
+}
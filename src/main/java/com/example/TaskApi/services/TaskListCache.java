@@ -0,0 +1,82 @@
+package com.example.TaskApi.services;
+
+import com.example.TaskApi.dto.TaskResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+/**
+ * Each user's full task list, served only while tagged with the current task-list version and weighted by
+ * estimated heap size. Lists are unmodifiable and {@link TaskResponse} is immutable, so both are shared.
+ */
+@Component
+public class TaskListCache implements MeterBinder {
+
+    // Rough per-task overhead: DTO header and fields, boxed id/userId, enum reference, list slot.
+    private static final int TASK_OVERHEAD_BYTES = 96;
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    @Value("${app.tasks.list-cache.max-size:64MB}")
+    private DataSize maxSize;
+
+    private Cache<Long, Snapshot> snapshots;
+    private long maxEntryBytes;
+
+    private record Snapshot(long version, List<TaskResponse> tasks, int weight) {
+    }
+
+    @PostConstruct
+    void init() {
+        // A few huge lists must not push out everybody else's.
+        maxEntryBytes = maxSize.toBytes() / 8;
+        snapshots = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long userId, Snapshot snapshot) -> snapshot.weight())
+                .recordStats()
+                .build();
+    }
+
+    public List<TaskResponse> get(Long userId, long version) {
+        Snapshot snapshot = snapshots.getIfPresent(userId);
+        return snapshot != null && snapshot.version() == version ? snapshot.tasks() : null;
+    }
+
+    /** Caches {@code tasks} as the list at {@code version} and returns the unmodifiable copy that was stored. */
+    public List<TaskResponse> put(Long userId, long version, List<TaskResponse> tasks) {
+        List<TaskResponse> snapshot = List.copyOf(tasks);
+        long weight = estimateBytes(snapshot);
+        if (weight <= maxEntryBytes) {
+            snapshots.put(userId, new Snapshot(version, snapshot, (int) weight));
+        }
+        return snapshot;
+    }
+
+    public void invalidate(Long userId) {
+        snapshots.invalidate(userId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, snapshots, "tasks.lists");
+    }
+
+    static long estimateBytes(List<TaskResponse> tasks) {
+        long bytes = 0;
+        for (TaskResponse task : tasks) {
+            bytes += TASK_OVERHEAD_BYTES + stringBytes(task.getTitle()) + stringBytes(task.getDescription());
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + value.length();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.TaskApi.services;
+
+import com.example.TaskApi.model.TaskOutboxEvent;
+import com.example.TaskApi.repository.TaskOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Transactional outbox: each {@link TaskChangedEvent} is stored in {@code task_outbox} before its transaction
+ * commits, and a scheduled relay hands the rows oldest-first to the {@link OutboxEventSink}.
+ */
+@Component
+@Lazy(false)
+@RegisterReflectionForBinding(TaskChangedEvent.class)
+public class TaskOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskOutbox.class);
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+    @Autowired
+    private OutboxEventSink sink;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    private Counter published;
+    private Counter failures;
+
+    @PostConstruct
+    void registerMeters() {
+        published = Counter.builder("taskapi.outbox.published")
+                .description("Outbox messages accepted by the sink")
+                .register(meterRegistry);
+        failures = Counter.builder("taskapi.outbox.failures")
+                .description("Relay batches rolled back because the sink failed")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void record(TaskChangedEvent event) {
+        outboxRepository.save(TaskOutboxEvent.builder()
+                .userId(event.userId())
+                .taskId(event.taskId())
+                .eventType(event.type().name())
+                .payload(toJson(event))
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:1s}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (RuntimeException ex) {
+            failures.increment();
+            logger.warn("Outbox relay failed, the batch stays queued for the next run", ex);
+        }
+    }
+
+    // Runs in one transaction: lock the oldest rows, hand them to the sink, delete them. A sink failure rolls back.
+    private int relayBatch() {
+        List<TaskOutboxEvent> batch = outboxRepository.findOldestForUpdate(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<OutboxMessage> messages = batch.stream()
+                .map(row -> new OutboxMessage(row.getId(), row.getUserId(), row.getTaskId(), row.getEventType(),
+                        row.getPayload(), row.getCreatedAt()))
+                .toList();
+        try {
+            sink.publish(messages);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IllegalStateException("Outbox sink failed", ex);
+        }
+        outboxRepository.deleteAllByIdInBatch(messages.stream().map(OutboxMessage::id).toList());
+        published.increment(messages.size());
+        return messages.size();
+    }
+
+    private String toJson(TaskChangedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize " + event, ex);
+        }
+    }
+}
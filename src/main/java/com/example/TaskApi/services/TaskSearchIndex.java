@@ -0,0 +1,229 @@
+package com.example.TaskApi.services;
+
+import com.example.TaskApi.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over task titles and descriptions, one partition per user, each with its own
+ * read/write lock. Ranks by TF-IDF; title matches weigh more than description matches.
+ * <p>
+ * Each partition is tagged with the task-list version it reflects. Committed {@link TaskChangedEvent}s from
+ * this instance advance it; a version gap (a write on another instance) or a tag behind the version passed
+ * to {@link #search(Long, long, String, int)} reloads the user's tasks from the database.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final long STALE = -1;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ApplicationStartup applicationStartup;
+
+    private final Map<Long, UserIndex> users = new ConcurrentHashMap<>();
+
+    private static final class UserIndex {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        // Task-list version the partition is complete for; written under the write lock.
+        volatile long version = STALE;
+        // term -> (task id -> weighted term frequency)
+        final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        // task id -> its terms, so a task can be removed without rescanning the postings
+        final Map<Long, Set<String>> terms = new HashMap<>();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        StartupStep step = applicationStartup.start("taskapi.search-index.rebuild");
+        long start = System.nanoTime();
+        LongAdder count = new LongAdder();
+        try (Stream<TaskRepository.TaskText> rows = taskRepository.streamAllText()) {
+            rows.forEach(row -> {
+                UserIndex index = users.computeIfAbsent(row.getUserId(), id -> new UserIndex());
+                index.lock.writeLock().lock();
+                try {
+                    indexLocked(index, row.getId(), row.getTitle(), row.getDescription());
+                    index.version = row.getTaskListVersion();
+                } finally {
+                    index.lock.writeLock().unlock();
+                }
+                count.increment();
+            });
+        }
+        step.tag("tasks", count.toString()).end();
+        logger.info("Search index rebuilt with {} tasks in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        UserIndex index = users.get(event.userId());
+        if (index == null) {
+            // Loaded on the user's first search.
+            return;
+        }
+        index.lock.writeLock().lock();
+        try {
+            // A batch publishes several events with the same version, so "equal" is still in sequence.
+            if (index.version != event.listVersion() && index.version != event.listVersion() - 1) {
+                index.version = STALE;
+                return;
+            }
+            switch (event.type()) {
+                case CREATED -> indexLocked(index, event.taskId(), event.task().getTitle(), event.task().getDescription());
+                case DELETED -> removeLocked(index, event.taskId());
+                case STATUS_CHANGED -> {
+                    // Status is not indexed.
+                }
+            }
+            index.version = event.listVersion();
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the user's tasks matching any term of {@code query}, best match first (ties: newest first), at most
+     * {@code limit}. Reloads the user's partition first unless it reflects {@code version}.
+     */
+    public List<Long> search(Long userId, long version, String query, int limit) {
+        Set<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        UserIndex index = users.get(userId);
+        if (index == null || index.version != version) {
+            index = reload(userId, version);
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        index.lock.readLock().lock();
+        try {
+            int documents = index.terms.size();
+            for (String term : queryTerms) {
+                Map<Long, Integer> posting = index.postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (double) documents / posting.size());
+                posting.forEach((taskId, frequency) ->
+                        scores.merge(taskId, (1.0 + Math.log(frequency)) * idf, Double::sum));
+            }
+        } finally {
+            index.lock.readLock().unlock();
+        }
+        return topIds(scores, limit);
+    }
+
+    // The tasks are read after the version, so they are at least as new as the tag; an event that lands in
+    // between is overwritten and only costs another reload.
+    private UserIndex reload(Long userId, long version) {
+        List<TaskRepository.TaskText> rows = taskRepository.findTextByUserId(userId);
+        UserIndex index = users.computeIfAbsent(userId, id -> new UserIndex());
+        index.lock.writeLock().lock();
+        try {
+            index.postings.clear();
+            index.terms.clear();
+            rows.forEach(row -> indexLocked(index, row.getId(), row.getTitle(), row.getDescription()));
+            index.version = version;
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+        return index;
+    }
+
+    private static void indexLocked(UserIndex index, Long taskId, String title, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTokens(frequencies, title, TITLE_WEIGHT);
+        addTokens(frequencies, description, DESCRIPTION_WEIGHT);
+
+        removeLocked(index, taskId);
+        frequencies.forEach((term, frequency) ->
+                index.postings.computeIfAbsent(term, t -> new HashMap<>()).put(taskId, frequency));
+        index.terms.put(taskId, Set.copyOf(frequencies.keySet()));
+    }
+
+    private static void removeLocked(UserIndex index, Long taskId) {
+        Set<String> previous = index.terms.remove(taskId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous) {
+            Map<Long, Integer> posting = index.postings.get(term);
+            posting.remove(taskId);
+            if (posting.isEmpty()) {
+                index.postings.remove(term);
+            }
+        }
+    }
+
+    // Bounded min-heap: O(n log k) instead of sorting every match.
+    private static List<Long> topIds(Map<Long, Double> scores, int limit) {
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            best.offer(entry);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(best);
+        ranked.sort(ranking.reversed());
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private static void addTokens(Map<String, Integer> frequencies, String text, int weight) {
+        if (text == null) {
+            return;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                frequencies.merge(token, weight, Integer::sum);
+            }
+        }
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text != null) {
+            for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+}
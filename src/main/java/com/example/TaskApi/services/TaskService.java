@@ -1,22 +1,47 @@
 package com.example.TaskApi.services;
 
+import com.example.TaskApi.dto.TaskBatchStatusUpdateRequest;
+import com.example.TaskApi.dto.TaskCursor;
+import com.example.TaskApi.dto.TaskPage;
 import com.example.TaskApi.dto.TaskRequest;
 import com.example.TaskApi.dto.TaskResponse;
+import com.example.TaskApi.dto.TaskSummaryResponse;
 import com.example.TaskApi.exception.TaskNotFoundException;
 import com.example.TaskApi.model.Task;
 import com.example.TaskApi.model.TaskStatus;
 import com.example.TaskApi.model.User;
 import com.example.TaskApi.repository.TaskRepository;
 import com.example.TaskApi.repository.UserRepository;
+import com.example.TaskApi.security.UserPrincipal;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "taskapi.service.tasks", histogram = true)
 public class TaskService {
 
     @Autowired
@@ -25,72 +50,245 @@ public class TaskService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TaskListCache taskListCache;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskStatusWriteBehind statusWriteBehind;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.tasks.page.default-limit:50}")
+    private int defaultPageLimit;
+
+    @Value("${app.tasks.page.max-limit:500}")
+    private int maxPageLimit;
+
     private TaskResponse convertToDto(Task task) {
         return new TaskResponse(task);
     }
 
 
 
-    public TaskResponse createTask(TaskRequest taskRequest, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
-        Task task = Task.builder()
+    private Task buildTask(TaskRequest taskRequest, User user) {
+        return Task.builder()
                 .title(taskRequest.getTitle())
                 .description(taskRequest.getDescription())
                 .status(TaskStatus.OPEN)
                 .user(user)
                 .build();
-
-        Task savedTask = taskRepository.save(task);
-        return convertToDto(savedTask);
     }
 
-    public List<TaskResponse> getTasksForUser(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    @Transactional
+    public TaskResponse createTask(TaskRequest taskRequest, UserPrincipal principal) {
+        User user = userRepository.getReferenceById(principal.getId());
+        Task savedTask = taskRepository.save(buildTask(taskRequest, user));
+        long version = markTaskListChanged(principal.getId());
+        TaskResponse created = convertToDto(savedTask);
+        eventPublisher.publishEvent(TaskChangedEvent.created(created, version));
+        return created;
+    }
 
-        return taskRepository.findByUserId(user.getId())
+    @Transactional
+    public List<TaskResponse> createTasks(List<TaskRequest> taskRequests, UserPrincipal principal) {
+        User user = userRepository.getReferenceById(principal.getId());
+        List<Task> tasks = taskRequests.stream()
+                .map(taskRequest -> buildTask(taskRequest, user))
+                .collect(Collectors.toList());
+        long version = markTaskListChanged(principal.getId());
+        List<TaskResponse> created = taskRepository.saveAll(tasks)
                 .stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
+        created.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.created(task, version)));
+        return created;
     }
 
-    public TaskResponse updateTaskStatus(Long taskId, TaskStatus status, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    public long getTaskListVersion(UserPrincipal principal) {
+        return userRepository.findTaskListVersionById(principal.getId()).orElse(0L);
+    }
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+    public long getPendingStatusGeneration(UserPrincipal principal) {
+        return statusWriteBehind.pendingGeneration(principal.getId());
+    }
 
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new AccessDeniedException("You do not have permission to modify this task");
+    public List<TaskResponse> getTasksForUser(UserPrincipal principal) {
+        return getTasksForUser(principal, getTaskListVersion(principal));
+    }
+
+    // The version is read before the tasks, so a concurrent write can only make the cached list newer than its tag.
+    public List<TaskResponse> getTasksForUser(UserPrincipal principal, long version) {
+        List<TaskResponse> cached = taskListCache.get(principal.getId(), version);
+        if (cached == null) {
+            List<TaskResponse> tasks = taskRepository.findResponsesByUserId(principal.getId());
+            cached = taskListCache.put(principal.getId(), version, tasks);
         }
-        task.setStatus(status);
-        Task updatedTask = taskRepository.save(task);
-        return convertToDto(updatedTask);
+        return statusWriteBehind.overlay(principal.getId(), cached);
     }
 
-    public void deleteTask(Long taskId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    // Filtering and counting by status need buffered statuses in the table, so these reads flush them first.
+    public List<TaskResponse> getTasksForUser(UserPrincipal principal, TaskStatus status) {
+        statusWriteBehind.flush(principal.getId());
+        return taskRepository.findResponsesByUserIdAndStatus(principal.getId(), status);
+    }
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new AccessDeniedException("You do not have permission to delete this task");
+    public List<TaskResponse> searchTasksForUser(UserPrincipal principal, String query, Integer limit) {
+        int maxResults = limit == null ? defaultPageLimit : Math.max(1, Math.min(limit, maxPageLimit));
+        List<Long> ids = taskSearchIndex.search(principal.getId(), getTaskListVersion(principal), query, maxResults);
+        if (ids.isEmpty()) {
+            return List.of();
         }
+        Map<Long, TaskResponse> tasks = taskRepository.findResponsesByUserIdAndIdIn(principal.getId(), ids)
+                .stream()
+                .collect(Collectors.toMap(TaskResponse::getId, task -> task));
+        return ids.stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .map(statusWriteBehind.overlayFor(principal.getId()))
+                .collect(Collectors.toList());
+    }
 
-        taskRepository.delete(task);
+    public TaskSummaryResponse getTaskSummaryForUser(UserPrincipal principal) {
+        statusWriteBehind.flush(principal.getId());
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, 0L);
+        }
+        long total = 0;
+        for (TaskRepository.StatusCount row : taskRepository.countByStatusForUser(principal.getId())) {
+            counts.put(row.getStatus(), row.getCount());
+            total += row.getCount();
+        }
+        return new TaskSummaryResponse(total, counts);
     }
 
-    private User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+    public TaskPage getTaskPageForUser(UserPrincipal principal, TaskStatus status, String after, Integer limit) {
+        int pageSize = limit == null ? defaultPageLimit : Math.max(1, Math.min(limit, maxPageLimit));
+        long afterId = after == null ? 0L : TaskCursor.decode(after);
+        if (status != null) {
+            statusWriteBehind.flush(principal.getId());
+        }
+
+        List<TaskResponse> tasks = status == null
+                ? taskRepository.findResponsePage(principal.getId(), afterId, Limit.of(pageSize + 1))
+                : taskRepository.findResponsePageByStatus(principal.getId(), status, afterId, Limit.of(pageSize + 1));
+        boolean hasMore = tasks.size() > pageSize;
+        List<TaskResponse> items = statusWriteBehind.overlay(principal.getId(), hasMore ? tasks.subList(0, pageSize) : tasks);
+        String nextCursor = hasMore ? TaskCursor.encode(items.get(items.size() - 1).getId()) : null;
+        return new TaskPage(items, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTasksForUser(UserPrincipal principal, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Lines are separated by '\n' below; drop Jackson's default " " between root values.
+        generator.setRootValueSeparator(null);
+        UnaryOperator<TaskResponse> overlay = statusWriteBehind.overlayFor(principal.getId());
+        try (Stream<TaskResponse> tasks = taskRepository.streamResponsesByUserId(principal.getId())) {
+            Iterator<TaskResponse> iterator = tasks.map(overlay).iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
+        generator.flush();
+    }
+
+    // In write-behind mode the write, version bump and event happen at the next flush.
+    @Transactional
+    public TaskResponse updateTaskStatus(Long taskId, TaskStatus status, UserPrincipal principal) {
+        if (statusWriteBehind.isEnabled()) {
+            List<TaskResponse> owned = taskRepository.findResponsesByUserIdAndIdIn(principal.getId(), List.of(taskId));
+            if (owned.isEmpty()) {
+                throw ownershipFailure(taskId, "You do not have permission to modify this task");
+            }
+            if (statusWriteBehind.record(principal.getId(), taskId, status)) {
+                TaskResponse task = owned.get(0);
+                return new TaskResponse(task.getId(), task.getTitle(), task.getDescription(), status, task.getUserId());
+            }
+        }
+        statusWriteBehind.flush(principal.getId());
+        if (taskRepository.updateStatusByIdAndUserId(taskId, principal.getId(), status) == 0) {
+            throw ownershipFailure(taskId, "You do not have permission to modify this task");
+        }
+        long version = markTaskListChanged(principal.getId());
+        TaskResponse updated = taskRepository.findResponsesByUserIdAndIdIn(principal.getId(), List.of(taskId)).get(0);
+        eventPublisher.publishEvent(TaskChangedEvent.statusChanged(updated, version));
+        return updated;
+    }
+
+    @Transactional
+    public void deleteTask(Long taskId, UserPrincipal principal) {
+        statusWriteBehind.flush(principal.getId());
+        if (taskRepository.deleteByIdAndUserId(taskId, principal.getId()) == 0) {
+            throw ownershipFailure(taskId, "You do not have permission to delete this task");
+        }
+        long version = markTaskListChanged(principal.getId());
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(principal.getId(), taskId, version));
+    }
+
+    @Transactional
+    public List<TaskResponse> updateTaskStatuses(List<TaskBatchStatusUpdateRequest.Item> updates, UserPrincipal principal) {
+        // Buffered single-task updates are older than this batch: write them first so they cannot overwrite it.
+        statusWriteBehind.flush(principal.getId());
+        Map<Long, TaskStatus> latest = new LinkedHashMap<>();
+        updates.forEach(update -> latest.put(update.getId(), update.getStatus()));
+
+        Map<TaskStatus, List<Long>> idsByStatus = new EnumMap<>(TaskStatus.class);
+        latest.forEach((id, status) -> idsByStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(id));
+
+        int updated = 0;
+        for (Map.Entry<TaskStatus, List<Long>> entry : idsByStatus.entrySet()) {
+            updated += taskRepository.updateStatusByIdInAndUserId(entry.getValue(), principal.getId(), entry.getKey());
+        }
+        if (updated != latest.size()) {
+            throw batchOwnershipFailure(latest.keySet(), "You do not have permission to modify all of these tasks");
+        }
+        long version = markTaskListChanged(principal.getId());
+        List<TaskResponse> updatedTasks = taskRepository.findResponsesByUserIdAndIdIn(principal.getId(), latest.keySet());
+        updatedTasks.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.statusChanged(task, version)));
+        return updatedTasks;
+    }
+
+    @Transactional
+    public void deleteTasks(List<Long> taskIds, UserPrincipal principal) {
+        statusWriteBehind.flush(principal.getId());
+        Set<Long> ids = new LinkedHashSet<>(taskIds);
+        if (taskRepository.deleteByIdInAndUserId(ids, principal.getId()) != ids.size()) {
+            throw batchOwnershipFailure(ids, "You do not have permission to delete all of these tasks");
+        }
+        long version = markTaskListChanged(principal.getId());
+        ids.forEach(id -> eventPublisher.publishEvent(TaskChangedEvent.deleted(principal.getId(), id, version)));
     }
 
-    private Task getTaskById(Long id) {
-        return taskRepository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
+    // Thrown inside the batch transaction, so the partial write is rolled back.
+    private RuntimeException batchOwnershipFailure(Collection<Long> taskIds, String accessDeniedMessage) {
+        if (taskRepository.countByIdIn(taskIds) == taskIds.size()) {
+            return new AccessDeniedException(accessDeniedMessage);
+        }
+        return new TaskNotFoundException("One or more tasks were not found");
+    }
+
+    // The UPDATE holds the user row lock until commit, so the version read back is the one this transaction wrote.
+    private long markTaskListChanged(Long userId) {
+        userRepository.incrementTaskListVersion(userId);
+        taskListCache.invalidate(userId);
+        return userRepository.findTaskListVersionById(userId).orElse(0L);
+    }
+
+    // Only reached when an ownership-checked write touched no row: tells "missing" apart from "not yours".
+    private RuntimeException ownershipFailure(Long taskId, String accessDeniedMessage) {
+        if (taskRepository.existsById(taskId)) {
+            return new AccessDeniedException(accessDeniedMessage);
+        }
+        return new TaskNotFoundException("Task not found with id: " + taskId);
     }
 }
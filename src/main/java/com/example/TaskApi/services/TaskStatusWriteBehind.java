@@ -0,0 +1,219 @@
+package com.example.TaskApi.services;
+
+import com.example.TaskApi.dto.TaskResponse;
+import com.example.TaskApi.model.TaskStatus;
+import com.example.TaskApi.repository.TaskRepository;
+import com.example.TaskApi.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Opt-in write-behind buffer for single-task status updates ({@code app.tasks.write-behind.enabled}).
+ * A later update of a task overwrites its slot; slots are written per user every {@code flush-interval}.
+ * Acknowledged statuses that are not flushed yet are lost if the process dies.
+ */
+@Component
+@Lazy(false)
+public class TaskStatusWriteBehind implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatusWriteBehind.class);
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskListCache taskListCache;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.tasks.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.tasks.write-behind.max-pending:10000}")
+    private int maxPending;
+
+    // Per user: task id -> latest unflushed status. Maps are immutable and replaced on every change.
+    private final ConcurrentHashMap<Long, Slots> pendingByUser = new ConcurrentHashMap<>();
+    private final AtomicLong generations = new AtomicLong();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private Counter coalesced;
+    private Counter failures;
+    private volatile boolean running;
+
+    private record Slots(Map<Long, TaskStatus> statuses, long generation) {
+    }
+
+    @PostConstruct
+    void registerMeters() {
+        Gauge.builder("taskapi.tasks.write-behind.pending", pendingCount, AtomicInteger::get)
+                .description("Task status updates acknowledged but not yet written")
+                .register(meterRegistry);
+        coalesced = Counter.builder("taskapi.tasks.write-behind.coalesced")
+                .description("Status updates overwritten in the buffer before they were written")
+                .register(meterRegistry);
+        failures = Counter.builder("taskapi.tasks.write-behind.failures")
+                .description("Flushes rolled back, retried on the next run")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Returns {@code false} when the caller must write the status itself. */
+    public boolean record(Long userId, Long taskId, TaskStatus status) {
+        if (!enabled || !running || pendingCount.get() >= maxPending) {
+            return false;
+        }
+        pendingByUser.compute(userId, (id, slots) -> {
+            Map<Long, TaskStatus> statuses = slots == null ? new HashMap<>() : new HashMap<>(slots.statuses());
+            if (statuses.put(taskId, status) == null) {
+                pendingCount.incrementAndGet();
+            } else {
+                coalesced.increment();
+            }
+            return new Slots(Map.copyOf(statuses), generations.incrementAndGet());
+        });
+        return true;
+    }
+
+    public long pendingGeneration(Long userId) {
+        Slots slots = pendingByUser.get(userId);
+        return slots == null ? 0L : slots.generation();
+    }
+
+    public UnaryOperator<TaskResponse> overlayFor(Long userId) {
+        Slots slots = pendingByUser.get(userId);
+        return slots == null ? UnaryOperator.identity() : task -> withPendingStatus(slots, task);
+    }
+
+    public List<TaskResponse> overlay(Long userId, List<TaskResponse> tasks) {
+        Slots slots = pendingByUser.get(userId);
+        if (slots == null) {
+            return tasks;
+        }
+        return tasks.stream().map(task -> withPendingStatus(slots, task)).toList();
+    }
+
+    private static TaskResponse withPendingStatus(Slots slots, TaskResponse task) {
+        TaskStatus pending = slots.statuses().get(task.getId());
+        if (pending == null || pending == task.getStatus()) {
+            return task;
+        }
+        return new TaskResponse(task.getId(), task.getTitle(), task.getDescription(), pending, task.getUserId());
+    }
+
+    // Joins an active transaction. Slots are released only after commit, so a rollback keeps them for the next flush.
+    public void flush(Long userId) {
+        Slots snapshot = pendingByUser.get(userId);
+        if (snapshot == null) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(tx -> {
+            write(userId, snapshot.statuses());
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release(userId, snapshot.statuses());
+                }
+            });
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.write-behind.flush-interval:500ms}")
+    public void flushAll() {
+        for (Long userId : pendingByUser.keySet()) {
+            try {
+                flush(userId);
+            } catch (RuntimeException ex) {
+                failures.increment();
+                logger.warn("Write-behind flush failed for user {}, retrying on the next run", userId, ex);
+            }
+        }
+    }
+
+    // Same shape as TaskService.updateTaskStatuses, without the ownership check (done when the slot was filled).
+    private void write(Long userId, Map<Long, TaskStatus> statuses) {
+        Map<TaskStatus, List<Long>> idsByStatus = new EnumMap<>(TaskStatus.class);
+        statuses.forEach((id, status) -> idsByStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(id));
+
+        int updated = 0;
+        for (Map.Entry<TaskStatus, List<Long>> entry : idsByStatus.entrySet()) {
+            updated += taskRepository.updateStatusByIdInAndUserId(entry.getValue(), userId, entry.getKey());
+        }
+        if (updated == 0) {
+            // Every task was deleted after it was buffered.
+            return;
+        }
+        userRepository.incrementTaskListVersion(userId);
+        taskListCache.invalidate(userId);
+        long version = userRepository.findTaskListVersionById(userId).orElse(0L);
+        taskRepository.findResponsesByUserIdAndIdIn(userId, statuses.keySet())
+                .forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.statusChanged(task, version)));
+    }
+
+    // Drops the flushed slots, except those that were overwritten with another status while the flush ran.
+    private void release(Long userId, Map<Long, TaskStatus> flushed) {
+        pendingByUser.computeIfPresent(userId, (id, slots) -> {
+            Map<Long, TaskStatus> remaining = new HashMap<>(slots.statuses());
+            flushed.forEach((taskId, status) -> {
+                if (remaining.remove(taskId, status)) {
+                    pendingCount.decrementAndGet();
+                }
+            });
+            return remaining.isEmpty() ? null : new Slots(Map.copyOf(remaining), slots.generation());
+        });
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // Stops after the web server has drained its requests, and before the DataSource is closed.
+    @Override
+    public void stop() {
+        running = false;
+        flushAll();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+}
@@ -0,0 +1,29 @@
+-- Initial schema. Written with IF NOT EXISTS so it also applies cleanly on top of a database
+-- that was created by spring.jpa.hibernate.ddl-auto=update (baselined at version 0).
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id                BIGINT       NOT NULL,
+    name              VARCHAR(255) NOT NULL,
+    email             VARCHAR(255) NOT NULL,
+    password          VARCHAR(255) NOT NULL,
+    role              VARCHAR(255) NOT NULL,
+    task_list_version BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- Added after the first release; missing on databases created before per-user list versions.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS task_list_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id          BIGINT        NOT NULL,
+    title       VARCHAR(255)  NOT NULL,
+    description VARCHAR(1000),
+    status      VARCHAR(255)  NOT NULL,
+    user_id     BIGINT        NOT NULL,
+    CONSTRAINT pk_tasks PRIMARY KEY (id),
+    CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,6 @@
+-- findByUserId and the keyset pages: WHERE user_id = ? [AND id > ?] ORDER BY id
+CREATE INDEX IF NOT EXISTS idx_tasks_user_id_id ON tasks (user_id, id);
+
+-- Status-filtered lists and pages: WHERE user_id = ? AND status = ? [AND id > ?] ORDER BY id.
+-- Kept next to (user_id, id): without a status predicate this index cannot return one user's rows in id order.
+CREATE INDEX IF NOT EXISTS idx_tasks_user_id_status_id ON tasks (user_id, status, id);
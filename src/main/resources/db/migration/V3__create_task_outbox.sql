@@ -0,0 +1,16 @@
+-- Transactional outbox: one row per task change, written in the transaction that made the change
+-- and deleted by the relay once the sink has accepted it.
+
+-- Increment 1 on purpose: ids are drawn while the writer holds its users row lock (task_list_version),
+-- so id order is each user's commit order even with several application instances.
+CREATE SEQUENCE IF NOT EXISTS task_outbox_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS task_outbox (
+    id         BIGINT                      NOT NULL,
+    user_id    BIGINT                      NOT NULL,
+    task_id    BIGINT                      NOT NULL,
+    event_type VARCHAR(32)                 NOT NULL,
+    payload    VARCHAR(4000)               NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_task_outbox PRIMARY KEY (id)
+);
@@ -0,0 +1,73 @@
+package com.example.TaskApi.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AlignIdSequencesMigrationTest {
+
+    private SimpleDriverDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    private void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .javaMigrations(new AlignIdSequencesMigration())
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void migrate_LegacyDatabaseWithIdentityIds_ShouldStartSequencesAfterExistingIds() {
+        // Schema as ddl-auto=update created it before the pooled sequences.
+        jdbc.execute("CREATE TABLE users (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                + "email VARCHAR(255) NOT NULL UNIQUE, password VARCHAR(255) NOT NULL, role VARCHAR(255) NOT NULL)");
+        jdbc.execute("CREATE TABLE tasks (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, title VARCHAR(255) NOT NULL, "
+                + "description VARCHAR(1000), status VARCHAR(255) NOT NULL, user_id BIGINT NOT NULL REFERENCES users (id))");
+        jdbc.update("INSERT INTO users (id, name, email, password, role) VALUES (7, 'a', 'a@example.com', 'x', 'USER')");
+        jdbc.update("INSERT INTO tasks (id, title, status, user_id) VALUES (120, 't', 'OPEN', 7)");
+
+        migrate();
+
+        // Hibernate's pooled optimizer uses the 50 ids up to each value it draws.
+        assertEquals(121L, jdbc.queryForObject("SELECT nextval('tasks_seq')", Long.class) - 49);
+        assertEquals(8L, jdbc.queryForObject("SELECT nextval('users_seq')", Long.class) - 49);
+    }
+
+    @Test
+    void migrate_EmptyDatabase_ShouldLeaveSequencesAtStart() {
+        migrate();
+
+        assertEquals(1L, jdbc.queryForObject("SELECT nextval('tasks_seq')", Long.class));
+        assertEquals(1L, jdbc.queryForObject("SELECT nextval('users_seq')", Long.class));
+    }
+
+    @Test
+    void migrate_SequenceAlreadyAhead_ShouldNotMoveItBack() {
+        migrate();
+        jdbc.execute("ALTER SEQUENCE tasks_seq RESTART WITH 1001");
+        jdbc.update("INSERT INTO users (id, name, email, password, role) VALUES (1, 'a', 'a@example.com', 'x', 'USER')");
+        jdbc.update("INSERT INTO tasks (id, title, status, user_id) VALUES (10, 't', 'OPEN', 1)");
+        jdbc.update("DELETE FROM flyway_schema_history WHERE version = '4'");
+
+        migrate();
+
+        assertTrue(jdbc.queryForObject("SELECT nextval('tasks_seq')", Long.class) > 1001);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.TaskApi.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeferredFlushFilterTest {
+
+    private final DeferredFlushFilter filter = new DeferredFlushFilter();
+
+    private static final FilterChain WRITE_AND_FLUSH = (request, response) -> {
+        response.getOutputStream().write("[]".getBytes());
+        response.getOutputStream().flush();
+        response.flushBuffer();
+    };
+
+    @Test
+    void doFilter_SynchronousRequest_ShouldNotCommitOnFlush() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest(), response, WRITE_AND_FLUSH);
+
+        assertFalse(response.isCommitted());
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_AsyncRequest_ShouldPassFlushThrough() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        request.startAsync();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, WRITE_AND_FLUSH);
+
+        assertTrue(response.isCommitted());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.TaskApi.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StartupTimelineReporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private StartupTimelineReporter reporter;
+    private ConfigurableApplicationContext context;
+    private Path timelineFile;
+
+    @BeforeEach
+    void setUp() {
+        context = mock(ConfigurableApplicationContext.class);
+        timelineFile = tempDir.resolve("startup/timeline.json");
+
+        reporter = new StartupTimelineReporter();
+        ReflectionTestUtils.setField(reporter, "context", context);
+        ReflectionTestUtils.setField(reporter, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        ReflectionTestUtils.setField(reporter, "timelineFile", timelineFile.toString());
+        ReflectionTestUtils.setField(reporter, "slowestBeans", 10);
+    }
+
+    private void ready(ReadinessState state) {
+        reporter.onReadiness(new AvailabilityChangeEvent<>(this, state));
+    }
+
+    @Test
+    void onReadiness_BufferedStartup_ShouldWriteTimelineWithoutDrainingIt() throws Exception {
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        startup.start("spring.beans.instantiate").tag("beanName", "taskService").end();
+        when(context.getApplicationStartup()).thenReturn(startup);
+
+        ready(ReadinessState.ACCEPTING_TRAFFIC);
+
+        String json = Files.readString(timelineFile);
+        assertTrue(json.contains("\"spring.beans.instantiate\""));
+        assertTrue(json.contains("\"taskService\""));
+        assertEquals(1, startup.getBufferedTimeline().getEvents().size());
+    }
+
+    @Test
+    void onReadiness_DefaultStartup_ShouldDoNothing() {
+        when(context.getApplicationStartup()).thenReturn(ApplicationStartup.DEFAULT);
+
+        ready(ReadinessState.ACCEPTING_TRAFFIC);
+
+        assertFalse(Files.exists(timelineFile));
+    }
+
+    @Test
+    void onReadiness_RefusingTraffic_ShouldDoNothing() {
+        when(context.getApplicationStartup()).thenReturn(new BufferingApplicationStartup(100));
+
+        ready(ReadinessState.REFUSING_TRAFFIC);
+
+        assertFalse(Files.exists(timelineFile));
+    }
+}
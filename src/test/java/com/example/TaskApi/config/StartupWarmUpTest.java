@@ -0,0 +1,108 @@
+package com.example.TaskApi.config;
+
+import com.example.TaskApi.repository.TaskRepository;
+import com.example.TaskApi.repository.UserRepository;
+import com.example.TaskApi.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StartupWarmUpTest {
+
+    private StartupWarmUp warmUp;
+    private BufferingApplicationStartup startup;
+    private DataSource dataSource;
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        startup = new BufferingApplicationStartup(100);
+        dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(mock(Connection.class));
+        taskRepository = mock(TaskRepository.class);
+        JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+        when(tokenProvider.generateToken(any())).thenReturn("token");
+
+        warmUp = new StartupWarmUp();
+        ReflectionTestUtils.setField(warmUp, "context", mock(ApplicationContext.class));
+        ReflectionTestUtils.setField(warmUp, "applicationStartup", startup);
+        ReflectionTestUtils.setField(warmUp, "dataSource", dataSource);
+        ReflectionTestUtils.setField(warmUp, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(warmUp, "userRepository", mock(UserRepository.class));
+        ReflectionTestUtils.setField(warmUp, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(warmUp, "enabled", true);
+    }
+
+    private void run() {
+        warmUp.run(new DefaultApplicationArguments());
+    }
+
+    private List<StartupStep> warmUpSteps() {
+        return startup.getBufferedTimeline().getEvents().stream()
+                .map(StartupTimeline.TimelineEvent::getStartupStep)
+                .filter(step -> step.getName().startsWith("taskapi.warmup."))
+                .toList();
+    }
+
+    private static String tag(StartupStep step, String key) {
+        return StreamSupport.stream(step.getTags().spliterator(), false)
+                .filter(tag -> key.equals(tag.getKey()))
+                .map(StartupStep.Tag::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Test
+    void run_Twice_ShouldWarmUpOnce() {
+        run();
+        run();
+
+        assertEquals(4, warmUpSteps().size());
+        verify(taskRepository, times(1)).findResponsesByUserId(anyLong());
+    }
+
+    @Test
+    void run_StepFails_ShouldTagItAndRunTheRest() throws SQLException {
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertDoesNotThrow(this::run);
+
+        StartupStep datasource = warmUpSteps().stream()
+                .filter(step -> step.getName().equals("taskapi.warmup.datasource"))
+                .findFirst().orElseThrow();
+        assertEquals("SQLException", tag(datasource, "failed"));
+        verify(taskRepository).findResponsesByUserId(anyLong());
+    }
+
+    @Test
+    void run_Disabled_ShouldDoNothing() throws SQLException {
+        ReflectionTestUtils.setField(warmUp, "enabled", false);
+
+        run();
+
+        assertEquals(0, warmUpSteps().size());
+        verify(dataSource, never()).getConnection();
+        verify(taskRepository, never()).findResponsesByUserId(anyLong());
+    }
+}
@@ -3,22 +3,28 @@ package com.example.TaskApi.controller;
 import com.example.TaskApi.dto.RegisterRequest;
 import com.example.TaskApi.model.Role;
 import com.example.TaskApi.model.User;
+import com.example.TaskApi.security.JwtTokenProvider;
+import com.example.TaskApi.security.RateLimitProperties;
+import com.example.TaskApi.security.UserDetailsImpl;
 import com.example.TaskApi.services.AuthenticationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = AuthController.class,
@@ -26,10 +32,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 public class AuthControllerTest {
 
     @TestConfiguration
+    @EnableConfigurationProperties(RateLimitProperties.class)
     static class ControllerTestConfig {
         @Bean
-        public AuthenticationService authenticationService() {
-            return mock(AuthenticationService.class);
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
         }
     }
 
@@ -39,9 +46,15 @@ public class AuthControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @Autowired
+    @MockitoBean
     private AuthenticationService authenticationService;
 
+    @MockitoBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    @MockitoBean
+    private UserDetailsImpl userDetailsService;
+
 
     @Test
     public void registerUser_Success() throws Exception {
@@ -64,7 +77,8 @@ public class AuthControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(registerRequest)))
                 .andExpect(status().isCreated()) // Expect 201 Created
-                .andExpect(content().string("User registered successfully!"));
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("User registered successfully!"));
     }
 
     @Test
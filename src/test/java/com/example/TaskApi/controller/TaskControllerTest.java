@@ -1,55 +1,65 @@
 package com.example.TaskApi.controller;
 
+import com.example.TaskApi.config.SecurityConfig;
 import com.example.TaskApi.dto.TaskRequest;
 import com.example.TaskApi.dto.TaskResponse;
 import com.example.TaskApi.dto.TaskStatusUpdateRequest;
+import com.example.TaskApi.dto.TaskSummaryResponse;
+import com.example.TaskApi.exception.TaskNotFoundException;
 import com.example.TaskApi.model.Role;
 import com.example.TaskApi.model.Task;
 import com.example.TaskApi.model.TaskStatus;
 import com.example.TaskApi.model.User;
 import com.example.TaskApi.security.JwtTokenProvider;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import com.example.TaskApi.security.RateLimitProperties;
+import com.example.TaskApi.security.UserDetailsImpl;
+import com.example.TaskApi.security.UserPrincipal;
+import com.example.TaskApi.services.TaskChangeFeed;
 import com.example.TaskApi.services.TaskService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.BDDMockito.willThrow;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TaskController.class)
+@Import(SecurityConfig.class)
 public class TaskControllerTest {
 
     @TestConfiguration
+    @EnableConfigurationProperties(RateLimitProperties.class)
     static class ControllerTestConfig {
         @Bean
-        public TaskService taskService() {
-            return mock(TaskService.class);
-        }
-
-        @Bean
-        public JwtTokenProvider jwtTokenProvider() {
-            return mock(JwtTokenProvider.class);
-        }
-
-        @Bean
-        public UserDetailsService userDetailsService() {
-            return mock(UserDetailsService.class);
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
         }
     }
 
@@ -59,16 +69,20 @@ public class TaskControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @Autowired
+    @MockitoBean
     private TaskService taskService;
 
-    @Autowired
+    @MockitoBean
     private JwtTokenProvider jwtTokenProvider;
 
-    @Autowired
-    private UserDetailsService userDetailsService;
+    @MockitoBean
+    private UserDetailsImpl userDetailsService;
+
+    @MockitoBean
+    private TaskChangeFeed taskChangeFeed;
 
     private User testUser;
+    private UserPrincipal testPrincipal;
     private Task testTask;
     private TaskRequest taskRequest;
 
@@ -81,6 +95,9 @@ public class TaskControllerTest {
                 .role(Role.ROLE_USER)
                 .build();
 
+        testPrincipal = new UserPrincipal(1L, "test@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
         testTask = Task.builder()
                 .id(100L)
                 .title("Test Task")
@@ -95,12 +112,12 @@ public class TaskControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
     void createTask_Success_ShouldReturn201Created() throws Exception {
-        given(taskService.createTask(any(TaskRequest.class), eq("test@example.com")))
+        given(taskService.createTask(any(TaskRequest.class), eq(testPrincipal)))
                 .willReturn(new TaskResponse(testTask));
 
         mockMvc.perform(post("/tasks")
+                        .with(user(testPrincipal))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(taskRequest)))
                 .andExpect(status().isCreated())
@@ -109,31 +126,99 @@ public class TaskControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
     void createTask_ValidationFails_ShouldReturn400BadRequest() throws Exception {
         TaskRequest badRequest = new TaskRequest();
         badRequest.setTitle("");
         badRequest.setDescription("No title");
 
         mockMvc.perform(post("/tasks")
+                        .with(user(testPrincipal))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(badRequest)))
                 .andExpect(status().isBadRequest());
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
     void getTasks_Success_ShouldReturnListOfTasks() throws Exception {
-        given(taskService.getTasksForUser("test@example.com"))
+        given(taskService.getTasksForUser(eq(testPrincipal), anyLong()))
                 .willReturn(List.of(new TaskResponse(testTask)));
 
         mockMvc.perform(get("/tasks")
+                        .with(user(testPrincipal))
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].title").value("Test Task"));
     }
 
+    @Test
+    void getTasks_StatusFilter_ShouldReturnTasksInThatStatus() throws Exception {
+        testTask.setStatus(TaskStatus.COMPLETED);
+        given(taskService.getTasksForUser(testPrincipal, TaskStatus.COMPLETED))
+                .willReturn(List.of(new TaskResponse(testTask)));
+
+        mockMvc.perform(get("/tasks")
+                        .param("status", "COMPLETED")
+                        .with(user(testPrincipal)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("COMPLETED"));
+
+        verify(taskService, never()).getTasksForUser(any(UserPrincipal.class), anyLong());
+    }
+
+    @Test
+    void getTaskSummary_ShouldReturnEveryStatusIncludingZeros() throws Exception {
+        Map<TaskStatus, Long> counts = new EnumMap<>(Map.of(
+                TaskStatus.OPEN, 1L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.COMPLETED, 2L));
+        given(taskService.getTaskSummaryForUser(testPrincipal)).willReturn(new TaskSummaryResponse(3L, counts));
+
+        mockMvc.perform(get("/tasks/summary")
+                        .with(user(testPrincipal)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.counts.OPEN").value(1))
+                .andExpect(jsonPath("$.counts.IN_PROGRESS").value(0))
+                .andExpect(jsonPath("$.counts.COMPLETED").value(2));
+    }
+
+    @Test
+    void getTasks_IfNoneMatchCurrentTag_ShouldReturn304WithoutReadingTasks() throws Exception {
+        given(taskService.getTaskListVersion(testPrincipal)).willReturn(5L);
+
+        mockMvc.perform(get("/tasks")
+                        .with(user(testPrincipal))
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"1-5\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-5\""));
+
+        verify(taskService, never()).getTasksForUser(any(UserPrincipal.class), anyLong());
+    }
+
+    @Test
+    void getTasks_VersionChangedByWrite_ShouldReturn200WithNewTag() throws Exception {
+        given(taskService.getTaskListVersion(testPrincipal)).willReturn(6L);
+        given(taskService.getTasksForUser(testPrincipal, 6L)).willReturn(List.of(new TaskResponse(testTask)));
+
+        mockMvc.perform(get("/tasks")
+                        .with(user(testPrincipal))
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"1-5\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-6\""));
+    }
+
+    @Test
+    void getTasks_StatusUpdatePending_ShouldReturn200WithSuffixedTag() throws Exception {
+        given(taskService.getTaskListVersion(testPrincipal)).willReturn(5L);
+        given(taskService.getPendingStatusGeneration(testPrincipal)).willReturn(42L);
+        given(taskService.getTasksForUser(testPrincipal, 5L)).willReturn(List.of(new TaskResponse(testTask)));
+
+        mockMvc.perform(get("/tasks")
+                        .with(user(testPrincipal))
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"1-5\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-5.42\""));
+    }
+
     @Test
     void getTasks_NoToken_ShouldReturn401Unauthorized() throws Exception {
         mockMvc.perform(get("/tasks")
@@ -142,18 +227,18 @@ public class TaskControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
     void updateTaskStatus_Success_ShouldReturn200OK() throws Exception {
         testTask.setStatus(TaskStatus.COMPLETED);
         TaskResponse updatedResponse = new TaskResponse(testTask);
 
-        given(taskService.updateTaskStatus(eq(100L), eq(TaskStatus.COMPLETED), eq("test@example.com")))
+        given(taskService.updateTaskStatus(eq(100L), eq(TaskStatus.COMPLETED), eq(testPrincipal)))
                 .willReturn(updatedResponse);
 
         TaskStatusUpdateRequest statusRequest = new TaskStatusUpdateRequest();
         statusRequest.setStatus(TaskStatus.COMPLETED);
 
         mockMvc.perform(put("/tasks/100")
+                        .with(user(testPrincipal))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(statusRequest)))
                 .andExpect(status().isOk())
@@ -161,27 +246,63 @@ public class TaskControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "attacker@example.com", roles = "USER")
     void deleteTask_NotOwner_ShouldReturn403Forbidden() throws Exception {
-        String attackerEmail = "attacker@example.com";
-        willThrow(new RuntimeException("Access Denied"))
+        UserPrincipal attacker = new UserPrincipal(2L, "attacker@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        willThrow(new AccessDeniedException("Access Denied"))
                 .given(taskService)
-                .deleteTask(eq(100L), eq(attackerEmail));
+                .deleteTask(eq(100L), eq(attacker));
 
         mockMvc.perform(delete("/tasks/100")
+                        .with(user(attacker))
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "USER")
     void deleteTask_Success_ShouldReturn204NoContent() throws Exception {
         willDoNothing()
                 .given(taskService)
-                .deleteTask(eq(100L), eq("test@example.com"));
+                .deleteTask(eq(100L), eq(testPrincipal));
 
         mockMvc.perform(delete("/tasks/100")
+                        .with(user(testPrincipal))
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateTaskStatuses_OneTaskNotOwned_ShouldReturn403Forbidden() throws Exception {
+        given(taskService.updateTaskStatuses(any(), eq(testPrincipal)))
+                .willThrow(new AccessDeniedException("You do not have permission to modify all of these tasks"));
+
+        mockMvc.perform(patch("/tasks/batch/status")
+                        .with(user(testPrincipal))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"updates\": [{\"id\": 100, \"status\": \"COMPLETED\"}, {\"id\": 200, \"status\": \"COMPLETED\"}]}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void updateTaskStatuses_OneTaskMissing_ShouldReturn404NotFound() throws Exception {
+        given(taskService.updateTaskStatuses(any(), eq(testPrincipal)))
+                .willThrow(new TaskNotFoundException("One or more tasks were not found"));
+
+        mockMvc.perform(patch("/tasks/batch/status")
+                        .with(user(testPrincipal))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"updates\": [{\"id\": 100, \"status\": \"COMPLETED\"}, {\"id\": 999, \"status\": \"COMPLETED\"}]}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteTasks_DuplicateIds_ShouldReturn204NoContent() throws Exception {
+        mockMvc.perform(delete("/tasks/batch")
+                        .with(user(testPrincipal))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [100, 101, 100]}"))
+                .andExpect(status().isNoContent());
+
+        verify(taskService).deleteTasks(List.of(100L, 101L, 100L), testPrincipal);
+    }
+}
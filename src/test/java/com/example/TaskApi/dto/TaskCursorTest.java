@@ -0,0 +1,27 @@
+package com.example.TaskApi.dto;
+
+import com.example.TaskApi.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TaskCursorTest {
+
+    @Test
+    void encodeThenDecode_ShouldReturnSameId() {
+        String cursor = TaskCursor.encode(12345L);
+
+        assertEquals(12345L, TaskCursor.decode(cursor));
+    }
+
+    @Test
+    void decode_RawId_ShouldThrowInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> TaskCursor.decode("42"));
+    }
+
+    @Test
+    void decode_Garbage_ShouldThrowInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> TaskCursor.decode("%%not-base64%%"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.TaskApi.load;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Per-endpoint latency samples of one worker thread; workers merge theirs once the run is over,
+ * so recording never contends.
+ */
+final class LatencyRecorder {
+
+    private long[] samplesNanos = new long[1024];
+    private int count;
+    private int errors;
+
+    void record(long nanos, boolean ok) {
+        if (count == samplesNanos.length) {
+            samplesNanos = Arrays.copyOf(samplesNanos, count * 2);
+        }
+        samplesNanos[count++] = nanos;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.samplesNanos[i], true);
+        }
+        errors += other.errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    String summary(String endpoint, double seconds) {
+        long[] sorted = Arrays.copyOf(samplesNanos, count);
+        Arrays.sort(sorted);
+        return String.format(Locale.ROOT, "%-22s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f",
+                endpoint, count, errors, count / seconds,
+                millis(sorted, 0.50), millis(sorted, 0.99), millis(sorted, 0.999),
+                count == 0 ? 0.0 : sorted[count - 1] / 1e6);
+    }
+
+    static String header() {
+        return String.format(Locale.ROOT, "%-22s %9s %7s %10s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
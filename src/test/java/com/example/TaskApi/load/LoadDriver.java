@@ -0,0 +1,187 @@
+package com.example.TaskApi.load;
+
+import com.example.TaskApi.load.LoadTestSettings.Operation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator: each worker repeatedly picks an operation by weight and waits
+ * for the response before sending the next request.
+ */
+final class LoadDriver {
+
+    private static final String PASSWORD = "password123";
+    private static final String[] STATUSES = {"OPEN", "IN_PROGRESS", "COMPLETED"};
+
+    private final String baseUrl;
+    private final LoadTestSettings settings;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong registrations = new AtomicLong();
+    private final List<VirtualUser> users = new ArrayList<>();
+    private final Operation[] weightedOperations;
+
+    LoadDriver(String baseUrl, LoadTestSettings settings) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        List<Operation> weighted = new ArrayList<>();
+        settings.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        this.weightedOperations = weighted.toArray(Operation[]::new);
+    }
+
+    /** Registers and logs in the users, seeds their tasks, then runs warm-up and the measured phase. */
+    Map<Operation, LatencyRecorder> run() throws Exception {
+        for (int i = 0; i < settings.users(); i++) {
+            VirtualUser user = new VirtualUser("load-" + i + "-" + System.nanoTime() + "@example.com");
+            register(user.email);
+            user.token = login(user.email);
+            for (int t = 0; t < settings.seedTasks(); t++) {
+                create(user);
+            }
+            users.add(user);
+        }
+        runPhase(settings.warmup().toNanos());
+        return runPhase(settings.duration().toNanos());
+    }
+
+    private Map<Operation, LatencyRecorder> runPhase(long durationNanos) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency());
+        long deadline = System.nanoTime() + durationNanos;
+        List<Future<Map<Operation, LatencyRecorder>>> results = new ArrayList<>();
+        for (int w = 0; w < settings.concurrency(); w++) {
+            VirtualUser user = users.get(w % users.size());
+            results.add(workers.submit(() -> work(user, deadline)));
+        }
+        Map<Operation, LatencyRecorder> merged = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, LatencyRecorder>> result : results) {
+            result.get().forEach((operation, recorder) ->
+                    merged.computeIfAbsent(operation, o -> new LatencyRecorder()).merge(recorder));
+        }
+        workers.shutdown();
+        return merged;
+    }
+
+    private Map<Operation, LatencyRecorder> work(VirtualUser user, long deadline) {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            if ((operation == Operation.UPDATE || operation == Operation.DELETE) && user.taskIds.isEmpty()) {
+                operation = Operation.CREATE;
+            }
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = execute(operation, user, random);
+            } catch (Exception ex) {
+                ok = false;
+            }
+            recorders.computeIfAbsent(operation, o -> new LatencyRecorder()).record(System.nanoTime() - start, ok);
+        }
+        return recorders;
+    }
+
+    private boolean execute(Operation operation, VirtualUser user, ThreadLocalRandom random) throws Exception {
+        switch (operation) {
+            case LIST:
+                return send(get("/tasks", user)).statusCode() == 200;
+            case PAGE:
+                return send(get("/tasks?limit=50", user)).statusCode() == 200;
+            case CREATE:
+                return create(user);
+            case UPDATE: {
+                Long id = user.taskIds.peekLast();
+                String body = "{\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)] + "\"}";
+                return id == null || send(json("PUT", "/tasks/" + id, body, user)).statusCode() == 200;
+            }
+            case DELETE: {
+                Long id = user.taskIds.pollFirst();
+                return id == null || send(json("DELETE", "/tasks/" + id, null, user)).statusCode() == 204;
+            }
+            case LOGIN:
+                return login(user.email) != null;
+            case REGISTER:
+                return register("load-new-" + registrations.incrementAndGet() + "-" + System.nanoTime() + "@example.com");
+            default:
+                throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    private boolean create(VirtualUser user) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(json("POST", "/tasks",
+                "{\"title\":\"Load task\",\"description\":\"Created by the load-test harness\"}", user));
+        if (response.statusCode() != 201) {
+            return false;
+        }
+        user.taskIds.addLast(objectMapper.readTree(response.body()).get("id").asLong());
+        return true;
+    }
+
+    private boolean register(String email) throws IOException, InterruptedException {
+        String body = "{\"name\":\"Load\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+        return send(json("POST", "/auth/register", body, null)).statusCode() / 100 == 2;
+    }
+
+    private String login(String email) throws IOException, InterruptedException {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+        HttpResponse<String> response = send(json("POST", "/auth/login", body, null));
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        JsonNode json = objectMapper.readTree(response.body());
+        return json.get("accessToken").asText();
+    }
+
+    private HttpRequest get(String path, VirtualUser user) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + user.token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest json(String method, String path, String body, VirtualUser user) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (user != null) {
+            builder.header("Authorization", "Bearer " + user.token);
+        }
+        return builder.build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static final class VirtualUser {
+        final String email;
+        final ConcurrentLinkedDeque<Long> taskIds = new ConcurrentLinkedDeque<>();
+        volatile String token;
+
+        VirtualUser(String email) {
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.TaskApi.load;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load-test knobs, read from system properties so runs can be tuned from the Maven command line.
+ *
+ * <pre>
+ *   -Dloadtest.users=20            registered users the workers act as
+ *   -Dloadtest.concurrency=32      concurrent client threads
+ *   -Dloadtest.warmup=5s           discarded warm-up phase
+ *   -Dloadtest.duration=30s        measured phase
+ *   -Dloadtest.seed-tasks=50       tasks created per user before warm-up
+ *   -Dloadtest.mix=list=40,create=20,update=20,delete=10,login=5,register=5
+ * </pre>
+ */
+record LoadTestSettings(int users, int concurrency, Duration warmup, Duration duration, int seedTasks,
+                        Map<Operation, Integer> mix) {
+
+    enum Operation {
+        LIST("GET /tasks"),
+        PAGE("GET /tasks?limit"),
+        CREATE("POST /tasks"),
+        UPDATE("PUT /tasks/{id}"),
+        DELETE("DELETE /tasks/{id}"),
+        LOGIN("POST /auth/login"),
+        REGISTER("POST /auth/register");
+
+        final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.users", 20),
+                Integer.getInteger("loadtest.concurrency", 32),
+                duration(System.getProperty("loadtest.warmup", "5s")),
+                duration(System.getProperty("loadtest.duration", "30s")),
+                Integer.getInteger("loadtest.seed-tasks", 50),
+                mix(System.getProperty("loadtest.mix", "list=40,create=20,update=20,delete=10,login=5,register=5")));
+    }
+
+    private static Duration duration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split("=");
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+}
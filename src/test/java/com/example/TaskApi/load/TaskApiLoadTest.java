@@ -0,0 +1,56 @@
+package com.example.TaskApi.load;
+
+import com.example.TaskApi.load.LoadTestSettings.Operation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test: boots the whole application on a random port against embedded H2 and
+ * drives a mixed workload through {@code /auth} and {@code /tasks} over real HTTP.
+ * <p>
+ * Skipped in normal builds. Run with, for example:
+ * <pre>
+ *   mvn test -Dtest=TaskApiLoadTest -Dloadtest=true -Dloadtest.concurrency=64 -Dloadtest.duration=60s
+ * </pre>
+ * Any application property can be overridden the same way, e.g. {@code -Dspring.threads.virtual.enabled=true}
+ * to compare execution modes. See {@link LoadTestSettings} for the workload knobs.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("h2")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class TaskApiLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        Map<Operation, LatencyRecorder> results = new LoadDriver("http://localhost:" + port, settings).run();
+
+        double seconds = settings.duration().toMillis() / 1000.0;
+        int total = 0;
+        int errors = 0;
+        StringBuilder report = new StringBuilder()
+                .append(String.format("%nLoad test: %d users, %d concurrent clients, %s measured, mix %s%n",
+                        settings.users(), settings.concurrency(), settings.duration(), settings.mix()))
+                .append(LatencyRecorder.header()).append('\n');
+        for (Map.Entry<Operation, LatencyRecorder> entry : results.entrySet()) {
+            report.append(entry.getValue().summary(entry.getKey().endpoint, seconds)).append('\n');
+            total += entry.getValue().count();
+            errors += entry.getValue().errors();
+        }
+        report.append(String.format("total %d requests, %.1f req/s, %d errors%n", total, total / seconds, errors));
+        System.out.println(report);
+
+        assertTrue(total > 0, "no requests completed");
+        assertTrue(errors == 0, errors + " requests failed");
+    }
+}
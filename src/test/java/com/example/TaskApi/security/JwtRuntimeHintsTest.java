@@ -0,0 +1,29 @@
+package com.example.TaskApi.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JwtRuntimeHintsTest {
+
+    @Test
+    void registerHints_ShouldOnlyNameClassesOnTheClasspath() {
+        RuntimeHints hints = new RuntimeHints();
+        new JwtRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // A renamed class after a jjwt upgrade would otherwise only fail inside a native image.
+        hints.reflection().typeHints().forEach(hint ->
+                assertDoesNotThrow(() -> Class.forName(hint.getType().getName()), hint.getType().getName()));
+    }
+
+    @Test
+    void registerHints_ShouldCoverServiceLoaderFiles() {
+        RuntimeHints hints = new RuntimeHints();
+        new JwtRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.TaskApi.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JwtTokenProviderTest {
+
+    private static final String SECRET =
+            "bXktc2VjcmV0LWtleS1mb3ItandrLXNwcmluZy1ib290LWFzc2lnbm1lbnQtYXV0aG9yaXphdGlvbg==";
+
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 60_000L);
+        ReflectionTestUtils.setField(tokenProvider, "tokenCacheMaxSize", 100L);
+        tokenProvider.init();
+    }
+
+    private String tokenFor(String email) {
+        return tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @Test
+    void verifyToken_SecondCall_ShouldBeServedFromCache() {
+        String token = tokenFor("test@example.com");
+
+        Claims first = tokenProvider.verifyToken(token);
+        Claims second = tokenProvider.verifyToken(token);
+
+        assertEquals("test@example.com", first.getSubject());
+        assertEquals(first, second);
+        assertEquals(1, tokenProvider.getTokenCacheStats().hitCount());
+        assertEquals(1, tokenProvider.getTokenCacheStats().missCount());
+    }
+
+    @Test
+    void getPrincipal_ShouldCarryUserIdAndRolesFromToken() {
+        UserPrincipal principal = new UserPrincipal(42L, "test@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        UserPrincipal restored = tokenProvider.getPrincipal(tokenProvider.verifyToken(token));
+
+        assertEquals(42L, restored.getId());
+        assertEquals("test@example.com", restored.getUsername());
+        assertEquals("ROLE_USER", restored.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void getPrincipal_TokenWithoutUserId_ShouldReturnNull() {
+        assertNull(tokenProvider.getPrincipal(tokenProvider.verifyToken(tokenFor("test@example.com"))));
+    }
+
+    @Test
+    void getClaimsIfValid_TamperedToken_ShouldReturnNullAndNotCache() {
+        String token = tokenFor("test@example.com");
+        // Changes a middle signature character: the last one carries padding bits a decoder may ignore.
+        int at = token.length() - 10;
+        String tampered = token.substring(0, at) + (token.charAt(at) == 'A' ? 'B' : 'A') + token.substring(at + 1);
+
+        assertNull(tokenProvider.getClaimsIfValid(tampered));
+        assertFalse(tokenProvider.validateToken(tampered));
+        assertTrue(tokenProvider.validateToken(token));
+    }
+}
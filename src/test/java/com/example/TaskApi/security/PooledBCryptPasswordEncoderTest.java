@@ -0,0 +1,93 @@
+package com.example.TaskApi.security;
+
+import com.example.TaskApi.exception.PasswordHashingUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PooledBCryptPasswordEncoderTest {
+
+    private PooledBCryptPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void encodeAndMatches_ShouldRoundTrip() {
+        encoder = new PooledBCryptPasswordEncoder(4, 2, 4, Duration.ofSeconds(1));
+
+        String hash = encoder.encode("password123");
+
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    void upgradeEncoding_ShouldFlagAnyOtherStrength() {
+        encoder = new PooledBCryptPasswordEncoder(6, 1, 1, Duration.ofSeconds(1));
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("pw")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(8).encode("pw")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("pw")));
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+    }
+
+    @Test
+    void encode_PoolAndQueueFull_ShouldRejectWithRetryAfter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        encoder = new PooledBCryptPasswordEncoder(blocking, 4, 1, 1, Duration.ofSeconds(2));
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (queuedTasks() == 0) {
+            Thread.onSpinWait();
+        }
+
+        PasswordHashingUnavailableException ex =
+                assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("c"));
+        assertEquals(Duration.ofSeconds(2), ex.getRetryAfter());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private int queuedTasks() {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(encoder, "executor");
+        return executor.getQueue().size();
+    }
+}
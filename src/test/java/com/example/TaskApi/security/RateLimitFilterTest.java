@@ -0,0 +1,48 @@
+package com.example.TaskApi.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimitFilterTest {
+
+    // 5 requests per 500 ns: one token every 100 ns, bursts of 5.
+    private static final long INTERVAL = 100;
+    private static final long BURST = 500;
+
+    @Test
+    void tryAcquire_FullBucket_ShouldAllowBurstThenRefuse() {
+        AtomicLong bucket = new AtomicLong();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, RateLimitFilter.tryAcquire(bucket, INTERVAL, BURST, 1_000));
+        }
+        assertEquals(INTERVAL, RateLimitFilter.tryAcquire(bucket, INTERVAL, BURST, 1_000));
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillAtSustainedRate() {
+        AtomicLong bucket = new AtomicLong();
+        for (int i = 0; i < 5; i++) {
+            RateLimitFilter.tryAcquire(bucket, INTERVAL, BURST, 1_000);
+        }
+
+        assertTrue(RateLimitFilter.tryAcquire(bucket, INTERVAL, BURST, 1_050) > 0);
+        assertEquals(0, RateLimitFilter.tryAcquire(bucket, INTERVAL, BURST, 1_100));
+        assertTrue(RateLimitFilter.tryAcquire(bucket, INTERVAL, BURST, 1_100) > 0);
+    }
+
+    @Test
+    void tryAcquire_LongIdle_ShouldNotBankMoreThanBurst() {
+        AtomicLong bucket = new AtomicLong();
+
+        int allowed = 0;
+        while (RateLimitFilter.tryAcquire(bucket, INTERVAL, BURST, 1_000_000) == 0) {
+            allowed++;
+        }
+        assertEquals(5, allowed);
+    }
+}
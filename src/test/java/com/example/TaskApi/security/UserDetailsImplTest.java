@@ -0,0 +1,95 @@
+package com.example.TaskApi.security;
+
+import com.example.TaskApi.model.Role;
+import com.example.TaskApi.model.User;
+import com.example.TaskApi.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+public class UserDetailsImplTest {
+
+    @Autowired
+    private UserDetailsImpl userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM task_outbox");
+        jdbc.update("DELETE FROM tasks");
+        jdbc.update("DELETE FROM users");
+        jdbc.update("INSERT INTO users (id, name, email, password, role) VALUES (2001, 'User', 'user@example.com', 'old', 'ROLE_USER')");
+        userDetailsService.evict("user@example.com");
+    }
+
+    // What a concurrent task write commits.
+    private void bumpTaskListVersion() {
+        jdbc.update("UPDATE users SET task_list_version = task_list_version + 1 WHERE id = 2001");
+    }
+
+    private long taskListVersion() {
+        return jdbc.queryForObject("SELECT task_list_version FROM users WHERE id = 2001", Long.class);
+    }
+
+    @Test
+    void save_UserLoadedBeforeTaskWrite_ShouldNotRollBackTaskListVersion() {
+        User loaded = userRepository.findByEmail("user@example.com").orElseThrow();
+        bumpTaskListVersion();
+        bumpTaskListVersion();
+
+        loaded.setPassword("rehashed");
+        userRepository.save(loaded);
+
+        assertEquals(2L, taskListVersion());
+        assertEquals("rehashed", jdbc.queryForObject("SELECT password FROM users WHERE id = 2001", String.class));
+    }
+
+    @Test
+    void updatePassword_AfterTaskWrites_ShouldKeepTaskListVersion() {
+        bumpTaskListVersion();
+
+        userDetailsService.updatePassword(userDetailsService.loadUserByUsername("user@example.com"), "rehashed");
+
+        assertEquals(1L, taskListVersion());
+        assertEquals("rehashed", userDetailsService.loadUserByUsername("user@example.com").getPassword());
+    }
+
+    @Test
+    void loadUserByUsername_AfterUserUpdatedThroughRepository_ShouldSeeChange() {
+        assertEquals("ROLE_USER", authorityOf(userDetailsService.loadUserByUsername("user@example.com")));
+
+        User user = userRepository.findByEmail("user@example.com").orElseThrow();
+        user.setRole(Role.ROLE_ADMIN);
+        userRepository.save(user);
+
+        assertEquals("ROLE_ADMIN", authorityOf(userDetailsService.loadUserByUsername("user@example.com")));
+    }
+
+    @Test
+    void loadUserByUsername_AfterUserDeletedThroughRepository_ShouldFail() {
+        userDetailsService.loadUserByUsername("user@example.com");
+
+        userRepository.delete(userRepository.findByEmail("user@example.com").orElseThrow());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("user@example.com"));
+    }
+
+    private static String authorityOf(UserDetails userDetails) {
+        return userDetails.getAuthorities().iterator().next().getAuthority();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.TaskApi.services;
+
+import com.example.TaskApi.dto.TaskBatchStatusUpdateRequest;
+import com.example.TaskApi.exception.TaskNotFoundException;
+import com.example.TaskApi.model.TaskStatus;
+import com.example.TaskApi.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Batch writes against embedded H2: a batch that fails its ownership check must leave every row as it was,
+ * including the rows it had already changed.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+public class TaskBatchTransactionTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final UserPrincipal owner = new UserPrincipal(1001L, "owner@example.com", null, List.of());
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM task_outbox");
+        jdbc.update("DELETE FROM tasks");
+        jdbc.update("DELETE FROM users");
+        jdbc.update("INSERT INTO users (id, name, email, password, role) VALUES (1001, 'Owner', 'owner@example.com', 'x', 'ROLE_USER')");
+        jdbc.update("INSERT INTO users (id, name, email, password, role) VALUES (1002, 'Other', 'other@example.com', 'x', 'ROLE_USER')");
+        jdbc.update("INSERT INTO tasks (id, title, status, user_id) VALUES (1, 'Mine', 'OPEN', 1001), (2, 'Mine too', 'OPEN', 1001)");
+        jdbc.update("INSERT INTO tasks (id, title, status, user_id) VALUES (3, 'Theirs', 'OPEN', 1002)");
+    }
+
+    private static TaskBatchStatusUpdateRequest.Item update(long id, TaskStatus status) {
+        TaskBatchStatusUpdateRequest.Item item = new TaskBatchStatusUpdateRequest.Item();
+        item.setId(id);
+        item.setStatus(status);
+        return item;
+    }
+
+    private String statusOf(long taskId) {
+        return jdbc.queryForObject("SELECT status FROM tasks WHERE id = ?", String.class, taskId);
+    }
+
+    @Test
+    void updateTaskStatuses_OwnedAndForeignTasks_ShouldRollBackOwnedUpdates() {
+        assertThrows(AccessDeniedException.class, () -> taskService.updateTaskStatuses(List.of(
+                update(1L, TaskStatus.COMPLETED), update(3L, TaskStatus.COMPLETED)), owner));
+
+        assertEquals("OPEN", statusOf(1L));
+        assertEquals("OPEN", statusOf(3L));
+        assertEquals(0L, jdbc.queryForObject("SELECT task_list_version FROM users WHERE id = 1001", Long.class));
+        assertEquals(0L, jdbc.queryForObject("SELECT COUNT(*) FROM task_outbox", Long.class));
+    }
+
+    @Test
+    void deleteTasks_MissingTask_ShouldRollBackOwnedDeletes() {
+        assertThrows(TaskNotFoundException.class, () -> taskService.deleteTasks(List.of(1L, 2L, 999L), owner));
+
+        assertEquals(2L, jdbc.queryForObject("SELECT COUNT(*) FROM tasks WHERE user_id = 1001", Long.class));
+    }
+
+    @Test
+    void deleteTasks_DuplicateIds_ShouldDeleteEachTaskOnce() {
+        taskService.deleteTasks(List.of(1L, 2L, 1L), owner);
+
+        assertEquals(0L, jdbc.queryForObject("SELECT COUNT(*) FROM tasks WHERE user_id = 1001", Long.class));
+        assertEquals(1L, jdbc.queryForObject("SELECT task_list_version FROM users WHERE id = 1001", Long.class));
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.TaskApi.services;
+
+import com.example.TaskApi.dto.TaskResponse;
+import com.example.TaskApi.model.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskChangeFeedTest {
+
+    private static final Pattern EVENT = Pattern.compile("id:(\\S+)\nevent:(\\S+)\n");
+
+    private TaskChangeFeed feed;
+    private SimpleMeterRegistry meterRegistry;
+    private FakeEmitter nextEmitter;
+
+    /** Records what the feed sends instead of writing to a response. */
+    private static class FakeEmitter extends SseEmitter {
+        final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        CountDownLatch entered;
+        CountDownLatch release;
+        IOException failure;
+        Consumer<Throwable> errorCallback;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (entered != null) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            String text = builder.build().stream().map(data -> String.valueOf(data.getData())).collect(Collectors.joining());
+            Matcher matcher = EVENT.matcher(text);
+            sent.add(matcher.find() ? matcher.group(2) + " " + matcher.group(1) : text.trim());
+        }
+
+        @Override
+        public synchronized void onError(Consumer<Throwable> callback) {
+            errorCallback = callback;
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            errorCallback.accept(ex);
+        }
+
+        String next() throws InterruptedException {
+            return sent.poll(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        feed = new TaskChangeFeed() {
+            @Override
+            SseEmitter newEmitter() {
+                return nextEmitter;
+            }
+        };
+        ReflectionTestUtils.setField(feed, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(feed, "bufferSize", 16);
+        ReflectionTestUtils.setField(feed, "replaySize", 3);
+        ReflectionTestUtils.setField(feed, "replayRetention", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(feed, "timeout", Duration.ofMinutes(30));
+        feed.registerMeters();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    private FakeEmitter subscribe(String lastEventId) {
+        return subscribe(new FakeEmitter(), lastEventId);
+    }
+
+    private FakeEmitter subscribe(FakeEmitter emitter, String lastEventId) {
+        nextEmitter = emitter;
+        feed.subscribe(1L, lastEventId);
+        return emitter;
+    }
+
+    private void publish(long taskId) {
+        feed.onTaskChanged(TaskChangedEvent.created(new TaskResponse(taskId, "Task", null, TaskStatus.OPEN, 1L), taskId));
+    }
+
+    private static String idOf(String sent) {
+        return sent.substring(sent.indexOf(' ') + 1);
+    }
+
+    private static List<String> names(FakeEmitter emitter, int count) throws InterruptedException {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String sent = emitter.next();
+            names.add(sent == null ? null : sent.substring(0, sent.indexOf(' ')));
+        }
+        return names;
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("taskapi.stream.subscribers").gauge().value();
+    }
+
+    @Test
+    void subscribe_LastEventIdInRing_ShouldReplayOnlyLaterEvents() throws Exception {
+        FakeEmitter first = subscribe(null);
+        publish(10L);
+        publish(11L);
+        publish(12L);
+        String firstId = idOf(first.next());
+        String secondId = idOf(first.next());
+        String thirdId = idOf(first.next());
+
+        FakeEmitter resumed = subscribe(firstId);
+
+        assertEquals(secondId, idOf(resumed.next()));
+        assertEquals(thirdId, idOf(resumed.next()));
+        assertNull(resumed.sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void subscribe_LastEventIdEvicted_ShouldSendResync() throws Exception {
+        FakeEmitter first = subscribe(null);
+        for (long taskId = 10; taskId < 15; taskId++) {
+            publish(taskId);
+        }
+        String evictedId = idOf(first.next());
+
+        FakeEmitter resumed = subscribe(evictedId);
+
+        assertTrue(resumed.next().startsWith(TaskChangeFeed.RESYNC + " "));
+        assertNull(resumed.sent.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(1.0, meterRegistry.get("taskapi.stream.resyncs").counter().count());
+    }
+
+    @Test
+    void subscribe_LastEventIdFromAnotherInstance_ShouldSendResync() throws Exception {
+        FakeEmitter resumed = subscribe("someotherepoch.1-7");
+
+        assertTrue(resumed.next().startsWith(TaskChangeFeed.RESYNC + " "));
+    }
+
+    @Test
+    void onTaskChanged_SlowSubscriber_ShouldReplaceBacklogWithResync() throws Exception {
+        FakeEmitter slow = new FakeEmitter();
+        slow.entered = new CountDownLatch(1);
+        slow.release = new CountDownLatch(1);
+        FakeEmitter fast = subscribe(null);
+        ReflectionTestUtils.setField(feed, "bufferSize", 2);
+        subscribe(slow, null);
+
+        publish(10L);
+        assertTrue(slow.entered.await(5, TimeUnit.SECONDS));
+        // The slow subscriber's buffer holds 2: the third queued event overflows it.
+        publish(11L);
+        publish(12L);
+        publish(13L);
+        publish(14L);
+        slow.entered = null;
+        slow.release.countDown();
+
+        assertEquals(List.of("created", "resync", "created"), names(slow, 3));
+        assertEquals(List.of("created", "created", "created", "created", "created"), names(fast, 5));
+        assertEquals(2.0, subscribers());
+    }
+
+    @Test
+    void onTaskChanged_BrokenConnection_ShouldDropSubscriber() throws Exception {
+        FakeEmitter broken = subscribe(null);
+        FakeEmitter healthy = subscribe(null);
+        broken.failure = new IOException("Broken pipe");
+
+        publish(10L);
+        healthy.next();
+        for (int i = 0; i < 50 && subscribers() > 1; i++) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(1.0, subscribers());
+        publish(11L);
+        assertEquals("created", healthy.next().split(" ")[0]);
+        assertTrue(broken.sent.isEmpty());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.TaskApi.services;
+
+import com.example.TaskApi.dto.TaskResponse;
+import com.example.TaskApi.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TaskListCacheTest {
+
+    private TaskListCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TaskListCache();
+        ReflectionTestUtils.setField(cache, "maxSize", DataSize.ofKilobytes(64));
+        cache.init();
+    }
+
+    private static List<TaskResponse> tasks(int count) {
+        List<TaskResponse> tasks = new ArrayList<>();
+        for (long i = 1; i <= count; i++) {
+            tasks.add(new TaskResponse(i, "Task " + i, "Description", TaskStatus.OPEN, 1L));
+        }
+        return tasks;
+    }
+
+    @Test
+    void get_SameVersion_ShouldReturnCachedList() {
+        cache.put(1L, 7L, tasks(3));
+
+        assertEquals(3, cache.get(1L, 7L).size());
+    }
+
+    @Test
+    void get_NewerVersion_ShouldMiss() {
+        cache.put(1L, 7L, tasks(3));
+
+        assertNull(cache.get(1L, 8L));
+    }
+
+    @Test
+    void put_ListLargerThanEntryLimit_ShouldNotBeCached() {
+        List<TaskResponse> stored = cache.put(1L, 1L, tasks(1_000));
+
+        assertEquals(1_000, stored.size());
+        assertNull(cache.get(1L, 1L));
+    }
+
+    @Test
+    void put_ShouldStoreUnmodifiableSnapshot() {
+        List<TaskResponse> stored = cache.put(1L, 1L, tasks(2));
+
+        assertThrows(UnsupportedOperationException.class, () -> stored.add(null));
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.TaskApi.services;
+
+import com.example.TaskApi.dto.TaskRequest;
+import com.example.TaskApi.dto.TaskResponse;
+import com.example.TaskApi.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Outbox rows against embedded H2. The scheduled relay only runs once at startup here; the tests call it directly.
+ */
+@SpringBootTest(properties = "app.outbox.poll-interval=1h")
+@ActiveProfiles("h2")
+public class TaskOutboxTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskOutbox taskOutbox;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @MockitoBean
+    private OutboxEventSink sink;
+
+    private final UserPrincipal owner = new UserPrincipal(3001L, "outbox@example.com", null, List.of());
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM task_outbox");
+        jdbc.update("DELETE FROM tasks");
+        jdbc.update("DELETE FROM users");
+        jdbc.update("INSERT INTO users (id, name, email, password, role) VALUES (3001, 'Owner', 'outbox@example.com', 'x', 'ROLE_USER')");
+    }
+
+    private static TaskRequest request(String title) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        return request;
+    }
+
+    private long outboxRows() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM task_outbox", Long.class);
+    }
+
+    @Test
+    void createTask_ShouldStoreOutboxRowWithTheTask() {
+        TaskResponse created = taskService.createTask(request("Write report"), owner);
+
+        Map<String, Object> row = jdbc.queryForMap("SELECT user_id, task_id, event_type, payload FROM task_outbox");
+        assertEquals(3001L, ((Number) row.get("user_id")).longValue());
+        assertEquals(created.getId(), ((Number) row.get("task_id")).longValue());
+        assertEquals("CREATED", row.get("event_type"));
+        assertTrue(((String) row.get("payload")).contains("\"title\":\"Write report\""));
+    }
+
+    @Test
+    void createTask_RolledBack_ShouldLeaveNoOutboxRow() {
+        transactionTemplate.executeWithoutResult(status -> {
+            taskService.createTask(request("Never committed"), owner);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0L, jdbc.queryForObject("SELECT COUNT(*) FROM tasks", Long.class));
+        assertEquals(0L, outboxRows());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_SinkAccepts_ShouldHandOverRowsOldestFirstAndDeleteThem() throws Exception {
+        TaskResponse first = taskService.createTask(request("First"), owner);
+        TaskResponse second = taskService.createTask(request("Second"), owner);
+
+        taskOutbox.relay();
+
+        ArgumentCaptor<List<OutboxMessage>> batch = ArgumentCaptor.forClass(List.class);
+        verify(sink).publish(batch.capture());
+        assertEquals(List.of(first.getId(), second.getId()),
+                batch.getValue().stream().map(OutboxMessage::taskId).toList());
+        assertEquals(0L, outboxRows());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_SinkFails_ShouldKeepBatchForNextRun() throws Exception {
+        taskService.createTask(request("First"), owner);
+        taskService.createTask(request("Second"), owner);
+        List<Long> ids = jdbc.queryForList("SELECT id FROM task_outbox ORDER BY id", Long.class);
+
+        doThrow(new IllegalStateException("broker down")).when(sink).publish(anyList());
+        taskOutbox.relay();
+
+        assertEquals(2L, outboxRows());
+
+        doNothing().when(sink).publish(anyList());
+        taskOutbox.relay();
+
+        ArgumentCaptor<List<OutboxMessage>> batches = ArgumentCaptor.forClass(List.class);
+        verify(sink, times(2)).publish(batches.capture());
+        assertEquals(ids, batches.getAllValues().get(1).stream().map(OutboxMessage::id).toList());
+        assertEquals(0L, outboxRows());
+    }
+}
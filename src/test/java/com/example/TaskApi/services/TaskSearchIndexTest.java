@@ -0,0 +1,134 @@
+package com.example.TaskApi.services;
+
+import com.example.TaskApi.dto.TaskResponse;
+import com.example.TaskApi.model.TaskStatus;
+import com.example.TaskApi.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        index = new TaskSearchIndex();
+        ReflectionTestUtils.setField(index, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(index, "applicationStartup", ApplicationStartup.DEFAULT);
+
+        // User 1 is at task-list version 3, user 2 at version 1.
+        when(taskRepository.streamAllText()).thenReturn(Stream.of(
+                text(1L, 3L, 10L, "Write report", "Quarterly numbers for the board"),
+                text(1L, 3L, 11L, "Review budget", "Check the report appendix"),
+                text(1L, 3L, 12L, "Buy milk", null),
+                text(2L, 1L, 20L, "Write report", "Someone else's task")));
+        index.rebuild();
+    }
+
+    private static TaskRepository.TaskText text(long userId, long version, long taskId, String title, String description) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", taskId);
+        row.put("userId", userId);
+        row.put("taskListVersion", version);
+        row.put("title", title);
+        row.put("description", description);
+        return new SpelAwareProxyProjectionFactory().createProjection(TaskRepository.TaskText.class, row);
+    }
+
+    private static TaskChangedEvent created(long userId, long taskId, String title, long version) {
+        return TaskChangedEvent.created(new TaskResponse(taskId, title, null, TaskStatus.OPEN, userId), version);
+    }
+
+    @Test
+    void search_TitleMatch_ShouldRankAboveDescriptionMatch() {
+        assertEquals(List.of(10L, 11L), index.search(1L, 3L, "report", 10));
+    }
+
+    @Test
+    void search_ShouldOnlySeeOwnTasks() {
+        assertEquals(List.of(20L), index.search(2L, 1L, "REPORT", 10));
+    }
+
+    @Test
+    void search_MoreMatchingTerms_ShouldRankHigher() {
+        assertEquals(List.of(11L, 10L), index.search(1L, 3L, "budget report", 10));
+    }
+
+    @Test
+    void search_ShouldHonourLimit() {
+        assertEquals(List.of(10L), index.search(1L, 3L, "report", 1));
+    }
+
+    @Test
+    void search_AfterRebuild_ShouldNotReload() {
+        index.search(1L, 3L, "report", 10);
+
+        verify(taskRepository, never()).findTextByUserId(anyLong());
+    }
+
+    @Test
+    void onTaskChanged_Deleted_ShouldDropTaskFromResults() {
+        index.onTaskChanged(TaskChangedEvent.deleted(1L, 10L, 4L));
+
+        assertEquals(List.of(11L), index.search(1L, 4L, "report", 10));
+        verify(taskRepository, never()).findTextByUserId(anyLong());
+    }
+
+    @Test
+    void onTaskChanged_SameTaskAgain_ShouldReplaceTerms() {
+        index.onTaskChanged(created(1L, 12L, "Buy bread", 4L));
+
+        assertTrue(index.search(1L, 4L, "milk", 10).isEmpty());
+        assertEquals(List.of(12L), index.search(1L, 4L, "bread", 10));
+    }
+
+    @Test
+    void onTaskChanged_BatchWithOneVersion_ShouldApplyEveryEvent() {
+        index.onTaskChanged(created(1L, 13L, "Draft one", 4L));
+        index.onTaskChanged(created(1L, 14L, "Draft two", 4L));
+
+        assertEquals(List.of(14L, 13L), index.search(1L, 4L, "draft", 10));
+        verify(taskRepository, never()).findTextByUserId(anyLong());
+    }
+
+    @Test
+    void onTaskChanged_VersionGap_ShouldReloadOnNextSearch() {
+        // Version 4 was written on another instance.
+        when(taskRepository.findTextByUserId(1L)).thenReturn(List.of(
+                text(1L, 5L, 10L, "Write report", null), text(1L, 5L, 31L, "Report draft", null)));
+        index.onTaskChanged(created(1L, 31L, "Report draft", 5L));
+
+        assertEquals(List.of(31L), index.search(1L, 5L, "draft", 10));
+        verify(taskRepository, times(1)).findTextByUserId(1L);
+    }
+
+    @Test
+    void search_VersionNotIndexed_ShouldReloadUserFromDatabase() {
+        // Task 30 was written on another instance, and user 3 had no tasks at startup.
+        when(taskRepository.findTextByUserId(3L)).thenReturn(List.of(text(3L, 5L, 30L, "Write report", null)));
+
+        assertEquals(List.of(30L), index.search(3L, 5L, "report", 10));
+        assertEquals(List.of(30L), index.search(3L, 5L, "report", 10));
+
+        verify(taskRepository, times(1)).findTextByUserId(3L);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.TaskApi.services;
+
+import com.example.TaskApi.dto.TaskBatchStatusUpdateRequest;
+import com.example.TaskApi.dto.TaskResponse;
+import com.example.TaskApi.exception.TaskNotFoundException;
+import com.example.TaskApi.model.TaskStatus;
+import com.example.TaskApi.repository.TaskRepository;
+import com.example.TaskApi.repository.UserRepository;
+import com.example.TaskApi.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TaskServiceTest {
+
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private UserRepository userRepository;
+    private TaskStatusWriteBehind statusWriteBehind;
+    private ApplicationEventPublisher eventPublisher;
+
+    private final UserPrincipal principal = new UserPrincipal(1L, "test@example.com", null, List.of());
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        userRepository = mock(UserRepository.class);
+        statusWriteBehind = mock(TaskStatusWriteBehind.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        when(statusWriteBehind.overlayFor(anyLong())).thenReturn(UnaryOperator.identity());
+
+        taskService = new TaskService();
+        ReflectionTestUtils.setField(taskService, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(taskService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(taskService, "taskListCache", mock(TaskListCache.class));
+        ReflectionTestUtils.setField(taskService, "statusWriteBehind", statusWriteBehind);
+        ReflectionTestUtils.setField(taskService, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(taskService, "objectMapper", new ObjectMapper());
+    }
+
+    private static TaskBatchStatusUpdateRequest.Item update(long id, TaskStatus status) {
+        TaskBatchStatusUpdateRequest.Item item = new TaskBatchStatusUpdateRequest.Item();
+        item.setId(id);
+        item.setStatus(status);
+        return item;
+    }
+
+    @Test
+    void exportTasksForUser_SeveralTasks_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        when(taskRepository.streamResponsesByUserId(1L)).thenReturn(Stream.of(
+                new TaskResponse(10L, "First", "a", TaskStatus.OPEN, 1L),
+                new TaskResponse(11L, "Second", null, TaskStatus.COMPLETED, 1L),
+                new TaskResponse(12L, "Third", "c", TaskStatus.IN_PROGRESS, 1L)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        taskService.exportTasksForUser(principal, out);
+
+        assertEquals("{\"id\":10,\"title\":\"First\",\"description\":\"a\",\"status\":\"OPEN\",\"userId\":1}\n"
+                        + "{\"id\":11,\"title\":\"Second\",\"description\":null,\"status\":\"COMPLETED\",\"userId\":1}\n"
+                        + "{\"id\":12,\"title\":\"Third\",\"description\":\"c\",\"status\":\"IN_PROGRESS\",\"userId\":1}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void updateTaskStatus_Written_ShouldBumpTaskListVersionAndReadBackProjection() {
+        when(taskRepository.updateStatusByIdAndUserId(10L, 1L, TaskStatus.COMPLETED)).thenReturn(1);
+        when(taskRepository.findResponsesByUserIdAndIdIn(1L, List.of(10L)))
+                .thenReturn(List.of(new TaskResponse(10L, "Task", null, TaskStatus.COMPLETED, 1L)));
+
+        TaskResponse updated = taskService.updateTaskStatus(10L, TaskStatus.COMPLETED, principal);
+
+        assertEquals(TaskStatus.COMPLETED, updated.getStatus());
+        verify(userRepository).incrementTaskListVersion(1L);
+        verify(taskRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void updateTaskStatus_Buffered_ShouldLeaveVersionToTheFlush() {
+        when(statusWriteBehind.isEnabled()).thenReturn(true);
+        when(statusWriteBehind.record(1L, 10L, TaskStatus.COMPLETED)).thenReturn(true);
+        when(taskRepository.findResponsesByUserIdAndIdIn(1L, List.of(10L)))
+                .thenReturn(List.of(new TaskResponse(10L, "Task", null, TaskStatus.OPEN, 1L)));
+
+        TaskResponse accepted = taskService.updateTaskStatus(10L, TaskStatus.COMPLETED, principal);
+
+        assertEquals(TaskStatus.COMPLETED, accepted.getStatus());
+        verify(taskRepository, never()).updateStatusByIdAndUserId(anyLong(), anyLong(), any());
+        verify(userRepository, never()).incrementTaskListVersion(anyLong());
+    }
+
+    @Test
+    void updateTaskStatuses_OneTaskOwnedByAnotherUser_ShouldThrowAccessDeniedWithoutSideEffects() {
+        when(taskRepository.updateStatusByIdInAndUserId(anyCollection(), eq(1L), any())).thenReturn(1);
+        when(taskRepository.countByIdIn(anyCollection())).thenReturn(2L);
+
+        assertThrows(AccessDeniedException.class, () -> taskService.updateTaskStatuses(
+                List.of(update(10L, TaskStatus.COMPLETED), update(20L, TaskStatus.COMPLETED)), principal));
+
+        verify(userRepository, never()).incrementTaskListVersion(anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void updateTaskStatuses_OneTaskMissing_ShouldThrowTaskNotFound() {
+        when(taskRepository.updateStatusByIdInAndUserId(anyCollection(), eq(1L), any())).thenReturn(1);
+        when(taskRepository.countByIdIn(anyCollection())).thenReturn(1L);
+
+        assertThrows(TaskNotFoundException.class, () -> taskService.updateTaskStatuses(
+                List.of(update(10L, TaskStatus.COMPLETED), update(99L, TaskStatus.COMPLETED)), principal));
+
+        verify(userRepository, never()).incrementTaskListVersion(anyLong());
+    }
+
+    @Test
+    void updateTaskStatuses_SameTaskTwice_ShouldApplyLastStatusOnce() {
+        when(taskRepository.updateStatusByIdInAndUserId(anyCollection(), eq(1L), any())).thenReturn(1);
+
+        taskService.updateTaskStatuses(
+                List.of(update(10L, TaskStatus.COMPLETED), update(10L, TaskStatus.IN_PROGRESS)), principal);
+
+        verify(taskRepository, times(1)).updateStatusByIdInAndUserId(anyCollection(), eq(1L), any());
+        verify(taskRepository).updateStatusByIdInAndUserId(List.of(10L), 1L, TaskStatus.IN_PROGRESS);
+        verify(userRepository).incrementTaskListVersion(1L);
+    }
+
+    @Test
+    void deleteTasks_DuplicateIds_ShouldDeleteEachTaskOnce() {
+        when(taskRepository.deleteByIdInAndUserId(Set.of(10L, 11L), 1L)).thenReturn(2);
+
+        taskService.deleteTasks(List.of(10L, 11L, 10L), principal);
+
+        verify(taskRepository).deleteByIdInAndUserId(Set.of(10L, 11L), 1L);
+        verify(eventPublisher, times(2)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void deleteTasks_OneTaskOwnedByAnotherUser_ShouldThrowAccessDenied() {
+        when(taskRepository.deleteByIdInAndUserId(anyCollection(), eq(1L))).thenReturn(1);
+        when(taskRepository.countByIdIn(anyCollection())).thenReturn(2L);
+
+        assertThrows(AccessDeniedException.class, () -> taskService.deleteTasks(List.of(10L, 20L), principal));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void deleteTasks_OneTaskMissing_ShouldThrowTaskNotFound() {
+        when(taskRepository.deleteByIdInAndUserId(anyCollection(), eq(1L))).thenReturn(1);
+        when(taskRepository.countByIdIn(anyCollection())).thenReturn(1L);
+
+        assertThrows(TaskNotFoundException.class, () -> taskService.deleteTasks(List.of(10L, 99L), principal));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.TaskApi.services;
+
+import com.example.TaskApi.dto.TaskResponse;
+import com.example.TaskApi.dto.TaskSummaryResponse;
+import com.example.TaskApi.model.TaskStatus;
+import com.example.TaskApi.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Status filter and per-status summary against embedded H2, with another user's tasks in the same table.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+public class TaskStatusQueryTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final UserPrincipal owner = new UserPrincipal(4001L, "owner@example.com", null, List.of());
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM task_outbox");
+        jdbc.update("DELETE FROM tasks");
+        jdbc.update("DELETE FROM users");
+        jdbc.update("INSERT INTO users (id, name, email, password, role) VALUES (4001, 'Owner', 'owner@example.com', 'x', 'ROLE_USER')");
+        jdbc.update("INSERT INTO users (id, name, email, password, role) VALUES (4002, 'Other', 'other@example.com', 'x', 'ROLE_USER')");
+        jdbc.update("INSERT INTO tasks (id, title, status, user_id) VALUES "
+                + "(1, 'Done', 'COMPLETED', 4001), (2, 'Todo', 'OPEN', 4001), (3, 'Done too', 'COMPLETED', 4001), "
+                + "(4, 'Theirs', 'IN_PROGRESS', 4002), (5, 'Theirs done', 'COMPLETED', 4002)");
+    }
+
+    @Test
+    void getTasksForUser_StatusFilter_ShouldReturnOnlyOwnTasksInThatStatus() {
+        List<TaskResponse> completed = taskService.getTasksForUser(owner, TaskStatus.COMPLETED);
+
+        assertEquals(List.of(1L, 3L), completed.stream().map(TaskResponse::getId).toList());
+    }
+
+    @Test
+    void getTasksForUser_StatusWithoutTasks_ShouldReturnEmptyList() {
+        assertEquals(List.of(), taskService.getTasksForUser(owner, TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void getTaskSummaryForUser_ShouldCountEveryStatusIncludingZeros() {
+        TaskSummaryResponse summary = taskService.getTaskSummaryForUser(owner);
+
+        assertEquals(3L, summary.getTotal());
+        assertEquals(Map.of(TaskStatus.OPEN, 1L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.COMPLETED, 2L),
+                summary.getCounts());
+    }
+
+    @Test
+    void getTaskSummaryForUser_NoTasks_ShouldReturnAllStatusesAtZero() {
+        jdbc.update("DELETE FROM tasks WHERE user_id = 4001");
+
+        TaskSummaryResponse summary = taskService.getTaskSummaryForUser(owner);
+
+        assertEquals(0L, summary.getTotal());
+        assertEquals(Map.of(TaskStatus.OPEN, 0L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.COMPLETED, 0L),
+                summary.getCounts());
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.TaskApi.services;
+
+import com.example.TaskApi.dto.TaskResponse;
+import com.example.TaskApi.model.TaskStatus;
+import com.example.TaskApi.repository.TaskRepository;
+import com.example.TaskApi.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TaskStatusWriteBehindTest {
+
+    private TaskStatusWriteBehind writeBehind;
+    private TaskRepository taskRepository;
+    private UserRepository userRepository;
+
+    // Runs callbacks and transaction synchronizations without a database.
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, org.springframework.transaction.TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        userRepository = mock(UserRepository.class);
+        writeBehind = new TaskStatusWriteBehind();
+        ReflectionTestUtils.setField(writeBehind, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(writeBehind, "userRepository", userRepository);
+        ReflectionTestUtils.setField(writeBehind, "taskListCache", mock(TaskListCache.class));
+        ReflectionTestUtils.setField(writeBehind, "eventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(writeBehind, "transactionTemplate", new TransactionTemplate(new NoOpTransactionManager()));
+        ReflectionTestUtils.setField(writeBehind, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(writeBehind, "enabled", true);
+        ReflectionTestUtils.setField(writeBehind, "maxPending", 100);
+        writeBehind.registerMeters();
+        writeBehind.start();
+    }
+
+    private static TaskResponse task(long id, TaskStatus status) {
+        return new TaskResponse(id, "Task " + id, "Description", status, 1L);
+    }
+
+    @Test
+    void flushAll_BurstOnOneTask_ShouldWriteOnlyLatestStatus() {
+        when(taskRepository.updateStatusByIdInAndUserId(anyCollection(), eq(1L), any())).thenReturn(1);
+
+        writeBehind.record(1L, 10L, TaskStatus.IN_PROGRESS);
+        writeBehind.record(1L, 10L, TaskStatus.COMPLETED);
+        writeBehind.record(1L, 10L, TaskStatus.IN_PROGRESS);
+        writeBehind.flushAll();
+
+        verify(taskRepository, times(1)).updateStatusByIdInAndUserId(anyCollection(), eq(1L), any());
+        verify(taskRepository).updateStatusByIdInAndUserId(List.of(10L), 1L, TaskStatus.IN_PROGRESS);
+        verify(userRepository, times(1)).incrementTaskListVersion(1L);
+        assertEquals(0L, writeBehind.pendingGeneration(1L));
+    }
+
+    @Test
+    void overlay_ShouldCopyTasksWithPendingStatus() {
+        TaskResponse pending = task(10L, TaskStatus.OPEN);
+        TaskResponse untouched = task(11L, TaskStatus.OPEN);
+        writeBehind.record(1L, 10L, TaskStatus.COMPLETED);
+
+        List<TaskResponse> result = writeBehind.overlay(1L, List.of(pending, untouched));
+
+        assertEquals(TaskStatus.COMPLETED, result.get(0).getStatus());
+        assertEquals(TaskStatus.OPEN, pending.getStatus());
+        assertSame(untouched, result.get(1));
+    }
+
+    @Test
+    void flushAll_WriteFails_ShouldKeepStatusForNextRun() {
+        when(taskRepository.updateStatusByIdInAndUserId(anyCollection(), eq(1L), any()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(1);
+        writeBehind.record(1L, 10L, TaskStatus.COMPLETED);
+
+        writeBehind.flushAll();
+        assertNotEquals(0L, writeBehind.pendingGeneration(1L));
+
+        writeBehind.flushAll();
+        assertEquals(0L, writeBehind.pendingGeneration(1L));
+    }
+
+    @Test
+    void flushAll_UpdateArrivesDuringFlush_ShouldKeepNewerStatus() {
+        when(taskRepository.updateStatusByIdInAndUserId(anyCollection(), eq(1L), any())).thenAnswer(invocation -> {
+            writeBehind.record(1L, 10L, TaskStatus.OPEN);
+            return 1;
+        });
+        writeBehind.record(1L, 10L, TaskStatus.COMPLETED);
+
+        writeBehind.flushAll();
+
+        List<TaskResponse> result = writeBehind.overlay(1L, List.of(task(10L, TaskStatus.COMPLETED)));
+        assertEquals(TaskStatus.OPEN, result.get(0).getStatus());
+    }
+
+    @Test
+    void record_Disabled_ShouldLeaveWriteToCaller() {
+        ReflectionTestUtils.setField(writeBehind, "enabled", false);
+
+        assertFalse(writeBehind.record(1L, 10L, TaskStatus.COMPLETED));
+        writeBehind.flushAll();
+
+        verify(taskRepository, never()).updateStatusByIdInAndUserId(anyCollection(), any(), any());
+    }
+}